@@ -0,0 +1,96 @@
+package com.earnix.eo.eventbus.benchmarks;
+
+import com.earnix.eo.eventbus.EventBus;
+import com.earnix.eo.eventbus.Events;
+import com.earnix.eo.eventbus.SubscriptionBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of publishing events to asynchronous listeners and awaiting their delivery: bus async pool, 
+ * virtual threads and custom executor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AsyncDeliveryBenchmark
+{
+	@Param({"async", "virtualThreads", "executor"})
+	String delivery;
+
+	@Param({"4"})
+	int subscribers;
+
+	@Param({"100"})
+	int events;
+
+	private final BenchmarkEvent event = new BenchmarkEvent();
+	private EventBus bus;
+	private ExecutorService executor;
+	private volatile CountDownLatch delivered;
+
+	@Setup
+	public void setUp()
+	{
+		bus = Events.createBus("benchmark");
+		executor = Executors.newFixedThreadPool(subscribers);
+		for (int i = 0; i < subscribers; i++)
+		{
+			final SubscriptionBuilder<BenchmarkEvent, ?> builder = bus.builder(
+					BenchmarkEvent.class, 
+					e -> delivered.countDown()
+			);
+			switch (delivery)
+			{
+				case "async":
+					builder.async();
+					break;
+				case "virtualThreads":
+					builder.virtualThreads();
+					break;
+				case "executor":
+					builder.executor(executor);
+					break;
+				default:
+					throw new IllegalArgumentException(delivery);
+			}
+			builder.subscribe();
+		}
+	}
+
+	@TearDown
+	public void tearDown()
+	{
+		bus.close();
+		executor.shutdown();
+	}
+
+	@Benchmark
+	public void publishAndAwait() throws InterruptedException
+	{
+		delivered = new CountDownLatch(events * subscribers);
+		for (int i = 0; i < events; i++)
+		{
+			bus.publish(event);
+		}
+		delivered.await();
+	}
+}
@@ -0,0 +1,85 @@
+package com.earnix.eo.eventbus.benchmarks;
+
+import com.earnix.eo.eventbus.EventBus;
+import com.earnix.eo.eventbus.Events;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishing of events batch (e.g. after import) one by one and by {@link EventBus#publishAll}, 
+ * to synchronous and asynchronous listeners. Each operation waits until all async listeners receive all events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchPublishBenchmark
+{
+	@Param({"1000"})
+	int events;
+
+	@Param({"4"})
+	int asyncSubscribers;
+
+	private EventBus bus;
+	private List<BenchmarkEvent> batch;
+	private volatile CountDownLatch delivered;
+
+	@Setup
+	public void setUp()
+	{
+		bus = Events.createBus("benchmark");
+		bus.subscribe(BenchmarkEvent.class, e -> e.value++);
+		for (int i = 0; i < asyncSubscribers; i++)
+		{
+			bus.builder(BenchmarkEvent.class, e -> delivered.countDown()).async().subscribe();
+		}
+		batch = new ArrayList<>();
+		for (int i = 0; i < events; i++)
+		{
+			batch.add(new BenchmarkEvent());
+		}
+	}
+
+	@TearDown
+	public void tearDown()
+	{
+		bus.close();
+	}
+
+	@Benchmark
+	public void publishEach() throws InterruptedException
+	{
+		delivered = new CountDownLatch(events * asyncSubscribers);
+		for (BenchmarkEvent event : batch)
+		{
+			bus.publish(event);
+		}
+		delivered.await();
+	}
+
+	@Benchmark
+	public void publishAll() throws InterruptedException
+	{
+		delivered = new CountDownLatch(events * asyncSubscribers);
+		bus.publishAll(batch);
+		delivered.await();
+	}
+}
@@ -0,0 +1,8 @@
+package com.earnix.eo.eventbus.benchmarks;
+
+import com.earnix.eo.eventbus.Event;
+
+public class BenchmarkEvent implements Event
+{
+	int value;
+}
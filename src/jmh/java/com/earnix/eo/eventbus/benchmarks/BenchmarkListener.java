@@ -0,0 +1,59 @@
+package com.earnix.eo.eventbus.benchmarks;
+
+import com.earnix.eo.eventbus.Event;
+import com.earnix.eo.eventbus.ListenEvent;
+
+/**
+ * Annotated methods listeners of different kinds, used by benchmarks.
+ */
+public class BenchmarkListener
+{
+	static long staticReceived;
+
+	/**
+	 * Listeners class with static method only.
+	 */
+	public static class Static
+	{
+		@ListenEvent
+		public static void onEventStatic(BenchmarkEvent event)
+		{
+			staticReceived += event.value;
+		}
+	}
+
+	/**
+	 * Listeners class with single instance method.
+	 */
+	public static class Instance
+	{
+		long received;
+
+		@ListenEvent
+		public void onEvent(BenchmarkEvent event)
+		{
+			received += event.value;
+		}
+	}
+
+	/**
+	 * Listeners class with multi-parameter instance method.
+	 */
+	public static class MultiParameter
+	{
+		long received;
+
+		@ListenEvent
+		public void onEvent(BenchmarkEvent event, OtherEvent other)
+		{
+			if (event != null)
+			{
+				received += event.value;
+			}
+		}
+	}
+
+	public static class OtherEvent implements Event
+	{
+	}
+}
@@ -0,0 +1,79 @@
+package com.earnix.eo.eventbus.benchmarks;
+
+import com.earnix.eo.eventbus.EventBus;
+import com.earnix.eo.eventbus.EventBusOptions;
+import com.earnix.eo.eventbus.Events;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Throughput of async listeners, which block (e.g. on I/O), executed on platform threads pool and on virtual threads.
+ * Each operation publishes an event and waits until all listeners receive it. 
+ * Virtual threads are used on Java 21+ only, otherwise both modes use platform threads pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlockingListenersBenchmark
+{
+	@Param({"platform", "virtual"})
+	String threads;
+
+	@Param({"200"})
+	int subscribers;
+
+	@Param({"1000"})
+	long blockingMicros;
+
+	private EventBus bus;
+	private volatile CountDownLatch delivered;
+
+	@Setup
+	public void setUp()
+	{
+		final EventBusOptions options = new EventBusOptions();
+		if ("virtual".equals(threads))
+		{
+			options.virtualThreads();
+		}
+		bus = Events.createBus("benchmark", options);
+		for (int i = 0; i < subscribers; i++)
+		{
+			bus.builder(BenchmarkEvent.class, e -> {
+				LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(blockingMicros));
+				delivered.countDown();
+			}).async().subscribe();
+		}
+	}
+
+	@TearDown
+	public void tearDown()
+	{
+		bus.close();
+	}
+
+	@Benchmark
+	public void publishAndAwait() throws InterruptedException
+	{
+		delivered = new CountDownLatch(subscribers);
+		bus.publish(new BenchmarkEvent());
+		delivered.await();
+	}
+}
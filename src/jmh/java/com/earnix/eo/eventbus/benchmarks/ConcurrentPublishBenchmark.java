@@ -0,0 +1,105 @@
+package com.earnix.eo.eventbus.benchmarks;
+
+import com.earnix.eo.eventbus.EventBus;
+import com.earnix.eo.eventbus.EventBusOptions;
+import com.earnix.eo.eventbus.Events;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.results.Result;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multi-threaded publishing throughput of concurrent and serialized buses.
+ * <br/>
+ * {@link #main} runs the benchmark with 1, 2, 4 ... available processors threads to show scaling, 
+ * other JMH options (e.g. profilers) are taken from arguments:
+ * <code>mvn -Pbenchmarks test-compile exec:exec -Djmh.main=com.earnix.eo.eventbus.benchmarks.ConcurrentPublishBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentPublishBenchmark
+{
+	@Param({"concurrent", "serialized"})
+	String mode;
+
+	@Param({"10"})
+	int subscribers;
+
+	/**
+	 * Amount of work each listener does, in JMH "tokens".
+	 */
+	@Param({"50"})
+	int listenerWork;
+
+	private EventBus bus;
+
+	@Setup
+	public void setUp()
+	{
+		final EventBusOptions options = new EventBusOptions();
+		if ("serialized".equals(mode))
+		{
+			options.serialized();
+		}
+		bus = Events.createBus("benchmark", options);
+		for (int i = 0; i < subscribers; i++)
+		{
+			bus.subscribe(BenchmarkEvent.class, e -> Blackhole.consumeCPU(listenerWork));
+		}
+	}
+
+	@Benchmark
+	public void publish()
+	{
+		bus.publish(new BenchmarkEvent());
+	}
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException
+	{
+		final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+		final int processors = Runtime.getRuntime().availableProcessors();
+		final StringBuilder summary = new StringBuilder();
+		for (int threads = 1; ; threads = Math.min(threads * 2, processors))
+		{
+			for (RunResult result : new Runner(new OptionsBuilder()
+					.parent(commandLineOptions)
+					.include(ConcurrentPublishBenchmark.class.getSimpleName())
+					.threads(threads)
+					.build()).run())
+			{
+				final Result<?> allocation = result.getSecondaryResults().get("gc.alloc.rate.norm");
+				summary.append(String.format("threads=%-3d mode=%-10s %12.3f ops/us%s%n",
+						threads,
+						result.getParams().getParam("mode"),
+						result.getPrimaryResult().getScore(),
+						allocation == null ? "" : String.format(" %10.1f B/op", allocation.getScore())));
+			}
+			if (threads == processors)
+			{
+				break;
+			}
+		}
+		System.out.println(summary);
+	}
+}
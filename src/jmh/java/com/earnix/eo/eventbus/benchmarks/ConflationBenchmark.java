@@ -0,0 +1,88 @@
+package com.earnix.eo.eventbus.benchmarks;
+
+import com.earnix.eo.eventbus.EventBus;
+import com.earnix.eo.eventbus.Events;
+import com.earnix.eo.eventbus.OverflowPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishing throughput to slow asynchronous listener, which conflates events by key, compared to plain
+ * asynchronous listener with bounded queue, which drops the oldest events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConflationBenchmark
+{
+	@Param({"conflateBy", "dropOldest"})
+	String mode;
+
+	@Param({"1000"})
+	int keys;
+
+	/**
+	 * Amount of work listener does, in JMH "tokens".
+	 */
+	@Param({"1000"})
+	int listenerWork;
+
+	private EventBus bus;
+	private BenchmarkEvent[] events;
+	private int next;
+
+	@Setup
+	public void setUp()
+	{
+		bus = Events.createBus("benchmark");
+		if ("conflateBy".equals(mode))
+		{
+			bus.builder(BenchmarkEvent.class, e -> Blackhole.consumeCPU(listenerWork))
+					.async()
+					.conflateBy(e -> e.value)
+					.subscribe();
+		}
+		else
+		{
+			bus.builder(BenchmarkEvent.class, e -> Blackhole.consumeCPU(listenerWork))
+					.async()
+					.queueCapacity(keys, OverflowPolicy.DROP_OLDEST)
+					.subscribe();
+		}
+		events = new BenchmarkEvent[keys];
+		for (int i = 0; i < keys; i++)
+		{
+			events[i] = new BenchmarkEvent();
+			events[i].value = i;
+		}
+	}
+
+	@TearDown
+	public void tearDown()
+	{
+		bus.close();
+	}
+
+	@Benchmark
+	public void publish()
+	{
+		bus.publish(events[next]);
+		next = next + 1 == keys ? 0 : next + 1;
+	}
+}
@@ -0,0 +1,70 @@
+package com.earnix.eo.eventbus.benchmarks;
+
+import com.earnix.eo.eventbus.Event;
+import com.earnix.eo.eventbus.EventBus;
+import com.earnix.eo.eventbus.Events;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishing cost of event from deep class hierarchy, when each level of hierarchy has its subscriber, 
+ * compared to the same subscribers count of the concrete class only.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HierarchyBenchmark
+{
+	private static final Class<?>[] LEVELS = {
+			Event.class, Level1.class, Level2.class, Level3.class, Level4.class, 
+			Level5.class, Level6.class, Level7.class, Level8.class
+	};
+
+	@Param({"true", "false"})
+	boolean perLevel;
+
+	private final Level8 event = new Level8();
+	private EventBus bus;
+	private long received;
+
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setUp()
+	{
+		bus = Events.createBus("benchmark");
+		for (Class<?> level : LEVELS)
+		{
+			final Class<Event> eventClass = (Class<Event>) (perLevel ? level : Level8.class);
+			bus.subscribe(eventClass, e -> received++);
+		}
+	}
+
+	@Benchmark
+	public void publish()
+	{
+		bus.publish(event);
+	}
+
+	public static class Level1 implements Event {}
+	public static class Level2 extends Level1 {}
+	public static class Level3 extends Level2 {}
+	public static class Level4 extends Level3 {}
+	public static class Level5 extends Level4 {}
+	public static class Level6 extends Level5 {}
+	public static class Level7 extends Level6 {}
+	public static class Level8 extends Level7 {}
+}
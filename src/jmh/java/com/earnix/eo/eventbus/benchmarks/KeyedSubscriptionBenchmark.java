@@ -0,0 +1,73 @@
+package com.earnix.eo.eventbus.benchmarks;
+
+import com.earnix.eo.eventbus.EventBus;
+import com.earnix.eo.eventbus.Events;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishing to one of many per-entity subscriptions: keyed subscriptions, found by hash lookup, compared to 
+ * subscriptions with condition on entity ID, which are all evaluated on each publishing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyedSubscriptionBenchmark
+{
+	@Param({"key", "condition"})
+	String mode;
+
+	@Param({"100", "50000"})
+	int subscriptions;
+
+	private EventBus bus;
+	private BenchmarkEvent[] events;
+	private int next;
+
+	@Setup
+	public void setUp(Blackhole blackhole)
+	{
+		bus = Events.createBus("benchmark");
+		bus.registerKeyExtractor(BenchmarkEvent.class, e -> e.value);
+		for (int i = 0; i < subscriptions; i++)
+		{
+			final int id = i;
+			if ("key".equals(mode))
+			{
+				bus.builder(BenchmarkEvent.class, blackhole::consume).key(id).subscribe();
+			}
+			else
+			{
+				bus.builder(BenchmarkEvent.class, blackhole::consume).condition(e -> e.value == id).subscribe();
+			}
+		}
+		events = new BenchmarkEvent[subscriptions];
+		for (int i = 0; i < subscriptions; i++)
+		{
+			events[i] = new BenchmarkEvent();
+			events[i].value = i;
+		}
+	}
+
+	@Benchmark
+	public void publish()
+	{
+		bus.publish(events[next]);
+		next = next + 1 == subscriptions ? 0 : next + 1;
+	}
+}
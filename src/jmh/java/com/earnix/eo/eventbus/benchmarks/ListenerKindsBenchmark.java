@@ -0,0 +1,67 @@
+package com.earnix.eo.eventbus.benchmarks;
+
+import com.earnix.eo.eventbus.EventBus;
+import com.earnix.eo.eventbus.Events;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishing cost by listener kind: lambda, annotated static method, annotated instance method and annotated 
+ * multi-parameter method.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListenerKindsBenchmark
+{
+	@Param({"lambda", "staticMethod", "instanceMethod", "multiParameterMethod"})
+	String kind;
+
+	private final BenchmarkEvent event = new BenchmarkEvent();
+	private EventBus bus;
+	private long received;
+
+	@Setup
+	public void setUp()
+	{
+		event.value = 1;
+		bus = Events.createBus("benchmark");
+		switch (kind)
+		{
+			case "lambda":
+				bus.subscribe(BenchmarkEvent.class, e -> received += e.value);
+				break;
+			case "staticMethod":
+				bus.subscribeMethods(BenchmarkListener.Static.class);
+				break;
+			case "instanceMethod":
+				bus.subscribeMethods(new BenchmarkListener.Instance());
+				break;
+			case "multiParameterMethod":
+				bus.subscribeMethods(new BenchmarkListener.MultiParameter());
+				break;
+			default:
+				throw new IllegalArgumentException(kind);
+		}
+	}
+
+	@Benchmark
+	public void publish()
+	{
+		bus.publish(event);
+	}
+}
@@ -0,0 +1,80 @@
+package com.earnix.eo.eventbus.benchmarks;
+
+import com.earnix.eo.eventbus.EventBus;
+import com.earnix.eo.eventbus.Events;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Publishing cost by subscribers count and kind of synchronous subscription: plain lambda, lambda with condition 
+ * (passed by half of subscribers) and weak lambda.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PublishBenchmark
+{
+	@Param({"1", "10", "1000"})
+	int subscribers;
+
+	@Param({"plain", "condition", "weak"})
+	String kind;
+
+	private final BenchmarkEvent event = new BenchmarkEvent();
+	/**
+	 * Keeps weak listeners reachable.
+	 */
+	private final List<Consumer<BenchmarkEvent>> listeners = new ArrayList<>();
+	private EventBus bus;
+	private long received;
+
+	@Setup
+	public void setUp()
+	{
+		event.value = 1;
+		bus = Events.createBus("benchmark");
+		for (int i = 0; i < subscribers; i++)
+		{
+			final int index = i;
+			switch (kind)
+			{
+				case "plain":
+					bus.subscribe(BenchmarkEvent.class, e -> received += e.value);
+					break;
+				case "condition":
+					bus.subscribe(BenchmarkEvent.class, e -> received += e.value, e -> (e.value + index) % 2 == 0);
+					break;
+				case "weak":
+					final Consumer<BenchmarkEvent> listener = e -> received += e.value;
+					listeners.add(listener);
+					bus.builder(BenchmarkEvent.class, listener).weak().subscribe();
+					break;
+				default:
+					throw new IllegalArgumentException(kind);
+			}
+		}
+	}
+
+	@Benchmark
+	public void publish()
+	{
+		bus.publish(event);
+	}
+}
@@ -0,0 +1,103 @@
+package com.earnix.eo.eventbus.benchmarks;
+
+import com.earnix.eo.eventbus.Event;
+import com.earnix.eo.eventbus.EventBus;
+import com.earnix.eo.eventbus.Events;
+import com.earnix.eo.eventbus.ListenerHandle;
+import com.earnix.eo.eventbus.RequestEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of synchronous request with response: {@link EventBus#request} compared to reply event, awaited by temporary 
+ * subscription with correlation condition, while given count of other requesters are waiting for their replies.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestBenchmark
+{
+	private static final Duration TIMEOUT = Duration.ofSeconds(1);
+
+	@Param({"0", "100"})
+	int waitingRequesters;
+
+	private EventBus bus;
+	private int next;
+
+	@Setup
+	public void setUp()
+	{
+		bus = Events.createBus("benchmark");
+		bus.subscribeResponder(Request.class, r -> r.id);
+		bus.subscribe(ReplyRequest.class, r -> bus.publish(new Reply(r.id)));
+		for (int i = 0; i < waitingRequesters; i++)
+		{
+			final int id = -i - 1;
+			bus.subscribe(Reply.class, r -> {}, r -> r.id == id);
+		}
+	}
+
+	@Benchmark
+	public Integer request()
+	{
+		return bus.request(new Request(next++), TIMEOUT).join();
+	}
+
+	@Benchmark
+	public Integer replyEvent()
+	{
+		final int id = next++;
+		final CompletableFuture<Integer> reply = new CompletableFuture<>();
+		final ListenerHandle handle = bus.subscribe(Reply.class, r -> reply.complete(r.id), r -> r.id == id);
+		bus.publish(new ReplyRequest(id));
+		handle.cancel();
+		return reply.join();
+	}
+
+	public static class Request extends RequestEvent<Integer>
+	{
+		final int id;
+
+		Request(int id)
+		{
+			this.id = id;
+		}
+	}
+
+	public static class ReplyRequest implements Event
+	{
+		final int id;
+
+		ReplyRequest(int id)
+		{
+			this.id = id;
+		}
+	}
+
+	public static class Reply implements Event
+	{
+		final int id;
+
+		Reply(int id)
+		{
+			this.id = id;
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package com.earnix.eo.eventbus.benchmarks;
+
+import com.earnix.eo.eventbus.EventBus;
+import com.earnix.eo.eventbus.EventBusOptions;
+import com.earnix.eo.eventbus.Events;
+import com.earnix.eo.eventbus.WaitStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishing cost for synchronous bus, which executes listeners in publishing thread, and for ring buffer buses 
+ * with different dispatcher wait strategies. 
+ * <br/>
+ * {@link #publish} measures publisher only: ring buffer bus doesn't wait for listeners unless the ring is full. 
+ * {@link #publishBurst} publishes a burst, which fits the ring, and waits until all events are dispatched.
+ * Busy spin strategy occupies a core permanently, so it should be compared on machine with spare cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RingBufferBenchmark
+{
+	@Param({"sync", "BUSY_SPIN", "YIELD", "PARK"})
+	String mode;
+
+	@Param({"10"})
+	int subscribers;
+
+	/**
+	 * Amount of work each listener does, in JMH "tokens".
+	 */
+	@Param({"20"})
+	int listenerWork;
+
+	@Param({"256"})
+	int burst;
+
+	private EventBus bus;
+	private final BenchmarkEvent event = new BenchmarkEvent();
+	private volatile int dispatched;
+
+	@Setup
+	public void setUp()
+	{
+		final EventBusOptions options = new EventBusOptions();
+		if (!"sync".equals(mode))
+		{
+			options.ringBuffer(4096, WaitStrategy.valueOf(mode));
+		}
+		bus = Events.createBus("benchmark", options);
+		for (int i = 0; i < subscribers; i++)
+		{
+			bus.subscribe(BenchmarkEvent.class, e -> Blackhole.consumeCPU(listenerWork));
+		}
+		// the last listener counts dispatched events, it's the only writer
+		bus.subscribe(BenchmarkEvent.class, e -> dispatched++);
+	}
+
+	@TearDown
+	public void tearDown()
+	{
+		bus.close();
+	}
+
+	@Benchmark
+	public void publish()
+	{
+		bus.publish(event);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(256)
+	public void publishBurst()
+	{
+		final int expected = dispatched + burst;
+		for (int i = 0; i < burst; i++)
+		{
+			bus.publish(event);
+		}
+		while (dispatched - expected < 0)
+		{
+			Thread.yield();
+		}
+	}
+}
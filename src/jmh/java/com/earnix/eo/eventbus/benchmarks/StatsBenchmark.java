@@ -0,0 +1,62 @@
+package com.earnix.eo.eventbus.benchmarks;
+
+import com.earnix.eo.eventbus.EventBus;
+import com.earnix.eo.eventbus.EventBusOptions;
+import com.earnix.eo.eventbus.Events;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishing cost to synchronous listeners with and without statistics collection.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatsBenchmark
+{
+	@Param({"false", "true"})
+	boolean stats;
+
+	@Param({"1", "10"})
+	int listeners;
+
+	private final BenchmarkEvent event = new BenchmarkEvent();
+	private EventBus bus;
+	private long received;
+
+	@Setup
+	public void setUp()
+	{
+		event.value = 1;
+		final EventBusOptions options = new EventBusOptions();
+		if (stats)
+		{
+			options.stats();
+		}
+		bus = Events.createBus("benchmark", options);
+		for (int i = 0; i < listeners; i++)
+		{
+			bus.subscribe(BenchmarkEvent.class, e -> received += e.value);
+		}
+	}
+
+	@Benchmark
+	public void publish()
+	{
+		bus.publish(event);
+	}
+}
@@ -0,0 +1,86 @@
+package com.earnix.eo.eventbus.benchmarks;
+
+import com.earnix.eo.eventbus.EventBus;
+import com.earnix.eo.eventbus.Events;
+import com.earnix.eo.eventbus.ListenerHandle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of subscription and its cancellation with given count of other subscriptions to the same event class: 
+ * lambda, keyed lambda and annotated instance method. Event is published before cancellation, 
+ * so bus dispatch structures are updated rather than rebuilt lazily.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubscriptionChurnBenchmark
+{
+	@Param({"0", "1000"})
+	int otherSubscribers;
+
+	@Param({"lambda", "keyed", "annotated"})
+	String kind;
+
+	private final BenchmarkEvent event = new BenchmarkEvent();
+	private final BenchmarkListener.Instance listener = new BenchmarkListener.Instance();
+	private EventBus bus;
+	private long received;
+	private int next;
+
+	@Setup
+	public void setUp()
+	{
+		bus = Events.createBus("benchmark");
+		bus.registerKeyExtractor(BenchmarkEvent.class, e -> e.value);
+		for (int i = 0; i < otherSubscribers; i++)
+		{
+			if ("keyed".equals(kind))
+			{
+				bus.builder(BenchmarkEvent.class, e -> received++).key(-i - 1).subscribe();
+			}
+			else
+			{
+				bus.subscribe(BenchmarkEvent.class, e -> received++);
+			}
+		}
+	}
+
+	@Benchmark
+	public void subscribePublishCancel()
+	{
+		final ListenerHandle handle;
+		switch (kind)
+		{
+			case "lambda":
+				handle = bus.subscribe(BenchmarkEvent.class, e -> received++);
+				break;
+			case "keyed":
+				handle = bus.builder(BenchmarkEvent.class, e -> received++).key(next).subscribe();
+				break;
+			case "annotated":
+				handle = bus.subscribeMethods(listener);
+				break;
+			default:
+				throw new IllegalArgumentException(kind);
+		}
+		event.value = next;
+		bus.publish(event);
+		handle.cancel();
+		next = (next + 1) & 1023;
+	}
+}
@@ -0,0 +1,53 @@
+package com.earnix.eo.eventbus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Holds runnable's until given future completes (normally or exceptionally), then passes them to target executor 
+ * in submission order. After completion runnable's are passed to target executor immediately.
+ * Doesn't own a thread: pending runnable's are released by the thread, which completes the future.
+ */
+class AfterCompletionExecutor implements Executor
+{
+	private final Executor target;
+	private List<Runnable> pending = new ArrayList<>();
+
+	AfterCompletionExecutor(CompletableFuture<?> future, Executor target)
+	{
+		Validator.notNull(future);
+		Validator.notNull(target);
+		this.target = target;
+		future.whenComplete((result, error) -> release());
+	}
+
+	@Override
+	public void execute(Runnable runnable)
+	{
+		synchronized (this)
+		{
+			if (pending != null)
+			{
+				pending.add(runnable);
+				return;
+			}
+		}
+		target.execute(runnable);
+	}
+
+	private void release()
+	{
+		final List<Runnable> released;
+		synchronized (this)
+		{
+			released = pending;
+			pending = null;
+		}
+		for (Runnable runnable : released)
+		{
+			target.execute(runnable);
+		}
+	}
+}
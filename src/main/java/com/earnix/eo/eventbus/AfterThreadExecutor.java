@@ -1,41 +1,35 @@
 package com.earnix.eo.eventbus;
 
-import javax.swing.SwingUtilities;
 import java.util.concurrent.Executor;
 
 /**
- * Schedules runnable's to be executed after another thread's completion or interruption.
+ * Passes runnable's to target executor after termination of given thread. Thread state is checked for each runnable
+ * when it's submitted, so thread, started after subscription, is awaited as well; thread, which isn't started at
+ * that moment, isn't awaited, the same way as {@link Thread#join()} returns immediately for it.
+ * <br/>
+ * Doesn't own a thread: awaited runnable's are released by {@link ThreadJoinWaiter}.
  */
 class AfterThreadExecutor implements Executor
 {
 	private final Thread thread;
-	private final boolean edt;
+	private final Executor target;
 
-	AfterThreadExecutor(Thread thread, boolean edt)
+	AfterThreadExecutor(Thread thread, Executor target)
 	{
+		Validator.notNull(thread);
+		Validator.notNull(target);
 		this.thread = thread;
-		this.edt = edt;
+		this.target = target;
 	}
 
 	@Override
 	public void execute(Runnable runnable)
 	{
-		new Thread(() -> {
-			try
-			{
-				thread.join();
-			}
-			catch (InterruptedException ignored)
-			{
-			}
-			if (edt)
-			{
-				SwingUtilities.invokeLater(runnable);
-			}
-			else
-			{
-				runnable.run();
-			}
-		}).start();
+		if (!thread.isAlive())
+		{
+			target.execute(runnable);
+			return;
+		}
+		ThreadJoinWaiter.terminationOf(thread).whenComplete((result, error) -> target.execute(runnable));
 	}
-}
\ No newline at end of file
+}
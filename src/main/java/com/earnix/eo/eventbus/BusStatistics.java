@@ -0,0 +1,131 @@
+package com.earnix.eo.eventbus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics recorder of event bus, enabled by {@link EventBusOptions#stats()}. Counters are {@link LongAdder}s,
+ * so concurrent publishers don't contend; reading happens only on {@link #snapshot()}.
+ */
+class BusStatistics
+{
+	private final long startNanos = System.nanoTime();
+
+	/**
+	 * Sample interval - 1, interval is power of two.
+	 */
+	private final int sampleMask;
+
+	private final ConcurrentHashMap<Class<?>, EventCounters> eventCounters = new ConcurrentHashMap<>();
+
+	private final Set<ListenerRecorder> listeners = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * @param sampleInterval execution time is measured for random 1 of given count of executions, power of two
+	 */
+	BusStatistics(int sampleInterval)
+	{
+		this.sampleMask = sampleInterval - 1;
+	}
+
+	/**
+	 * @param eventClass concrete class of published event
+	 * @param deliveries count of subscriptions, which accepted event (condition passed)
+	 */
+	void recordPublish(Class<?> eventClass, int deliveries)
+	{
+		EventCounters counters = eventCounters.get(eventClass);
+		if (counters == null)
+		{
+			// computeIfAbsent locks hash bin even if key is present on Java 8, so it's called only for the first event
+			counters = eventCounters.computeIfAbsent(eventClass, c -> new EventCounters());
+		}
+		counters.published.increment();
+		counters.deliveries.add(deliveries);
+	}
+
+	ListenerRecorder register(String name, Class<?> eventClass)
+	{
+		final ListenerRecorder recorder = new ListenerRecorder(name, eventClass, sampleMask);
+		listeners.add(recorder);
+		return recorder;
+	}
+
+	void unregister(ListenerRecorder recorder)
+	{
+		listeners.remove(recorder);
+	}
+
+	EventBusStats snapshot()
+	{
+		final Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+		final HashMap<Class<?>, EventBusStats.EventStats> events = new HashMap<>();
+		for (Map.Entry<Class<?>, EventCounters> entry : eventCounters.entrySet())
+		{
+			events.put(entry.getKey(), new EventBusStats.EventStats(
+					entry.getKey(),
+					entry.getValue().published.sum(),
+					entry.getValue().deliveries.sum(),
+					elapsed
+			));
+		}
+		final List<EventBusStats.ListenerStats> listenersStats = new ArrayList<>();
+		for (ListenerRecorder recorder : listeners)
+		{
+			listenersStats.add(new EventBusStats.ListenerStats(
+					recorder.name,
+					recorder.eventClass,
+					recorder.executions.sum(),
+					recorder.latency.counts(),
+					recorder.latency.totalNanos(),
+					recorder.latency.maxNanos(),
+					recorder.errors.sum()
+			));
+		}
+		return new EventBusStats(elapsed, events, listenersStats);
+	}
+
+	private static class EventCounters
+	{
+		final LongAdder published = new LongAdder();
+		final LongAdder deliveries = new LongAdder();
+	}
+
+	/**
+	 * Statistics of single subscription, recorded on each listener execution.
+	 */
+	static class ListenerRecorder
+	{
+		final String name;
+		final Class<?> eventClass;
+		final LongAdder executions = new LongAdder();
+		final LongAdder errors = new LongAdder();
+		/**
+		 * Execution time of sampled executions.
+		 */
+		final LatencyHistogram latency = new LatencyHistogram();
+		private final int sampleMask;
+
+		ListenerRecorder(String name, Class<?> eventClass, int sampleMask)
+		{
+			this.name = name;
+			this.eventClass = eventClass;
+			this.sampleMask = sampleMask;
+		}
+
+		/**
+		 * @return <code>true</code> if execution time of current execution must be measured
+		 */
+		boolean sample()
+		{
+			return sampleMask == 0 || (ThreadLocalRandom.current().nextInt() & sampleMask) == 0;
+		}
+	}
+}
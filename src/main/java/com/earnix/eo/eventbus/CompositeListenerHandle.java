@@ -32,4 +32,10 @@ class CompositeListenerHandle implements ListenerHandle
 			return original.stream().anyMatch(ListenerHandle::isActive);
 		}
 	}
+
+	@Override
+	public int queueSize()
+	{
+		return original.stream().mapToInt(ListenerHandle::queueSize).sum();
+	}
 }
@@ -0,0 +1,21 @@
+package com.earnix.eo.eventbus;
+
+/**
+ * Event, which may be consumed by listener to stop its propagation to listeners with lower priority 
+ * (see {@link SubscriptionBuilder#priority(int)}). Allows e.g. cache or validation listener to skip expensive ones.
+ * <br/>
+ * Consumption is checked before dispatching to each listener, so only synchronous listeners can consume event 
+ * effectively: asynchronous ones are executed after dispatching is finished.
+ */
+public interface ConsumableEvent extends Event
+{
+	/**
+	 * Stops event propagation to remaining listeners.
+	 */
+	void consume();
+
+	/**
+	 * @return <code>true</code> if event was consumed by one of listeners
+	 */
+	boolean isConsumed();
+}
@@ -0,0 +1,123 @@
+package com.earnix.eo.eventbus;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces runnable's into batches executed on EDT: all runnable's, submitted until the batch starts, are executed 
+ * by single queued event, in submission order. Optionally drains are spread by given frame interval, so EDT is not
+ * flooded by events, published at high rate.
+ * <br/>
+ * Runnable's, submitted during drain, are executed by next batch.
+ */
+class EdtBatchExecutor implements Executor
+{
+	/**
+	 * Minimal interval between drains start, 0 if not limited.
+	 */
+	private final long frameIntervalNanos;
+	private ArrayDeque<Runnable> pending = new ArrayDeque<>();
+	private boolean scheduled;
+	private long lastDrain;
+
+	/**
+	 * @param framesPerSecond maximal drains count per second, 0 if not limited
+	 */
+	EdtBatchExecutor(int framesPerSecond)
+	{
+		Validator.isTrue(framesPerSecond >= 0, "Frame rate must not be negative");
+		this.frameIntervalNanos = framesPerSecond == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / framesPerSecond;
+		this.lastDrain = System.nanoTime() - frameIntervalNanos;
+	}
+
+	@Override
+	public void execute(Runnable runnable)
+	{
+		final long delayNanos;
+		synchronized (this)
+		{
+			pending.add(runnable);
+			if (scheduled)
+			{
+				return;
+			}
+			scheduled = true;
+			delayNanos = nextDrainDelay();
+		}
+		schedule(delayNanos);
+	}
+
+	private long nextDrainDelay()
+	{
+		return frameIntervalNanos == 0 ? 0 : lastDrain + frameIntervalNanos - System.nanoTime();
+	}
+
+	private void schedule(long delayNanos)
+	{
+		if (delayNanos <= 0)
+		{
+			SwingUtilities.invokeLater(this::drain);
+		}
+		else
+		{
+			// rounding up: frame rate is an upper limit
+			final int delayMillis = (int) TimeUnit.NANOSECONDS.toMillis(delayNanos + TimeUnit.MILLISECONDS.toNanos(1) - 1);
+			final Timer timer = new Timer(delayMillis, e -> drain());
+			timer.setRepeats(false);
+			timer.start();
+		}
+	}
+
+	private void drain()
+	{
+		final ArrayDeque<Runnable> batch;
+		synchronized (this)
+		{
+			batch = pending;
+			pending = new ArrayDeque<>();
+			scheduled = false;
+			lastDrain = System.nanoTime();
+		}
+		Runnable runnable;
+		while ((runnable = batch.poll()) != null)
+		{
+			boolean completed = false;
+			try
+			{
+				runnable.run();
+				completed = true;
+			}
+			finally
+			{
+				if (!completed)
+				{
+					// failure is propagated to EDT, remaining runnable's are executed by next batch
+					rescheduleAfterFailure(batch);
+				}
+			}
+		}
+	}
+
+	private void rescheduleAfterFailure(ArrayDeque<Runnable> remaining)
+	{
+		final long delayNanos;
+		synchronized (this)
+		{
+			for (Iterator<Runnable> it = remaining.descendingIterator(); it.hasNext(); )
+			{
+				pending.addFirst(it.next());
+			}
+			if (scheduled || pending.isEmpty())
+			{
+				return;
+			}
+			scheduled = true;
+			delayNanos = nextDrainDelay();
+		}
+		schedule(delayNanos);
+	}
+}
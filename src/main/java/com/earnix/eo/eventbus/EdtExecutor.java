@@ -6,35 +6,48 @@ import java.util.concurrent.Executor;
 
 /**
  * Schedules runnable's into EDT. Allows to try or avoid synchronous execution if current thread is EDT.
+ * If batch executor is given, runnable's, which can't be executed synchronously, are coalesced by it rather than 
+ * invoked one by one, and publisher never waits for EDT.
  */
 class EdtExecutor implements Executor
 {
 	private final boolean synchronous;
+	/**
+	 * Coalescing executor, <code>null</code> if runnable's are invoked one by one.
+	 */
+	private final EdtBatchExecutor batch;
 
 	EdtExecutor(boolean synchronous)
+	{
+		this(synchronous, null);
+	}
+
+	EdtExecutor(boolean synchronous, @Nullable EdtBatchExecutor batch)
 	{
 		this.synchronous = synchronous;
+		this.batch = batch;
 	}
 
 	@Override
 	public void execute(Runnable run)
 	{
-		if (synchronous)
+		if (synchronous && SwingUtilities.isEventDispatchThread())
+		{
+			run.run();
+		}
+		else if (batch != null)
+		{
+			batch.execute(run);
+		}
+		else if (synchronous)
 		{
-			if (SwingUtilities.isEventDispatchThread())
+			try
 			{
-				run.run();
+				SwingUtilities.invokeAndWait(run);
 			}
-			else
+			catch (InterruptedException | InvocationTargetException e)
 			{
-				try
-				{
-					SwingUtilities.invokeAndWait(run);
-				}
-				catch (InterruptedException | InvocationTargetException e)
-				{
-					throw new RuntimeException(e);
-				}
+				throw new RuntimeException(e);
 			}
 		}
 		else
@@ -0,0 +1,60 @@
+package com.earnix.eo.eventbus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Collects events to be published together: see {@link EventBus#publishAll(Collection)}.
+ * May be reused: events are cleared after publishing.
+ */
+public class EventBatch
+{
+	private final EventBus bus;
+	private final ArrayList<Event> events = new ArrayList<>();
+
+	EventBatch(EventBus bus)
+	{
+		this.bus = bus;
+	}
+
+	/**
+	 * Adds event to the batch.
+	 * 
+	 * @param event event to publish
+	 */
+	public EventBatch add(Event event)
+	{
+		Validator.notNull(event);
+		events.add(event);
+		return this;
+	}
+
+	/**
+	 * Adds events to the batch, keeping their order.
+	 * 
+	 * @param events events to publish
+	 */
+	public EventBatch addAll(Collection<? extends Event> events)
+	{
+		Validator.notNull(events);
+		events.forEach(this::add);
+		return this;
+	}
+
+	/**
+	 * @return number of events in the batch
+	 */
+	public int size()
+	{
+		return events.size();
+	}
+
+	/**
+	 * Publishes collected events in order of addition and clears the batch.
+	 */
+	public void publish()
+	{
+		bus.publishAll(events);
+		events.clear();
+	}
+}
@@ -1,6 +1,11 @@
 package com.earnix.eo.eventbus;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
@@ -13,16 +18,59 @@ import java.util.function.Predicate;
  * </ul>
  * Default threading behavior: listeners will be executed synchronously in the same thread where {@link #publish(Event...)}
  * was called, but if subscription was created in EDT - listeners will be called in EDT, synchronously.
+ * Several threads may publish concurrently, each dispatching against consistent snapshot of subscriptions,
+ * unless bus was created with {@link EventBusOptions#serialized()}. Bus, created with 
+ * {@link EventBusOptions#ringBuffer(int)}, dispatches events on its own thread instead of publishing one.
  */
-public interface EventBus 
+public interface EventBus extends AutoCloseable
 {
 	/**
-	 * Publishes event(s) to event bus.
+	 * Publishes single event to event bus. Doesn't allocate if all matching listeners are synchronous.
+	 * <br/>
+	 * Unlike earlier versions, publishing isn't serialized by default: synchronous listener may be executed 
+	 * concurrently by several publishing threads, so it must be thread-safe. Listeners, which rely on never running
+	 * concurrently, require bus created with {@link EventBusOptions#serialized()} (or system property 
+	 * {@value Events#SERIALIZED_PROPERTY} for global bus).
+	 * 
+	 * @param event event to publish
+	 */
+	void publish(Event event);
+
+	/**
+	 * Publishes event(s) to event bus, see {@link #publish(Event)}.
 	 * 
 	 * @param events events to publish
 	 */
 	void publish(Event... events);
 
+	/**
+	 * Publishes events in order, against single snapshot of subscriptions. Subscribers are resolved once per 
+	 * distinct event class. Asynchronous listener receives its events as single task (except ones with bounded queue),
+	 * rather than task per event.
+	 * <br/>
+	 * EDT listeners (subscribed from EDT or with {@link SubscriptionBuilder#edt()}) are passed to EDT the same way, 
+	 * once all events are dispatched: they run after synchronous listeners of the whole batch, even if publisher is 
+	 * EDT. So their order relative to other synchronous listeners may differ from publishing the events one by one.
+	 * 
+	 * @param events events to publish
+	 */
+	void publishAll(Collection<? extends Event> events);
+
+	/**
+	 * Returns builder of events batch, which is published by {@link #publishAll(Collection)}.
+	 */
+	EventBatch publishBatch();
+
+	/**
+	 * Registers function, which extracts key of events of given class and its subclasses, allowing keyed subscriptions 
+	 * ({@link SubscriptionBuilder#key(Object)}) to these events. Extractor of the nearest registered supertype is used.
+	 *
+	 * @param eventClass event class
+	 * @param keyExtractor function returning event key, <code>null</code> key matches no keyed subscription
+	 * @param <T> event type
+	 */
+	<T extends Event> void registerKeyExtractor(Class<T> eventClass, Function<? super T, ?> keyExtractor);
+
 	// region - Single-Call Subscription -
 	
 	/**
@@ -140,4 +188,76 @@ public interface EventBus
 	<T extends Event, K extends Event> SubscriptionBuilder<T, K> builder(final Class<?> classWithListeners);
 	
 	// endregion 
-}
\ No newline at end of file
+	
+	// region - Requests -
+
+	/**
+	 * Sends request and returns its first response. Request is dispatched by calling thread (also on bus with 
+	 * {@link EventBusOptions#ringBuffer(int)}), by descending priority: remaining synchronous listeners aren't executed
+	 * once request is answered. Future fails with {@link java.util.NoSuchElementException} if all listeners, which 
+	 * received request, returned without response, or with {@link java.util.concurrent.TimeoutException} if there's 
+	 * no response in given time.
+	 * <br/>
+	 * Timeout is mandatory: asynchronous delivery may be dropped by queue overflow, conflation, cancellation or 
+	 * executor without notice, so listener count alone can't guarantee that future is ever completed.
+	 *
+	 * @param request request event
+	 * @param timeout time to wait for response, with precision of 10ms
+	 * @param <R> response type
+	 * @return future of the first response
+	 */
+	<R> CompletableFuture<R> request(RequestEvent<R> request, Duration timeout);
+
+	/**
+	 * Sends request to all its listeners and collects their responses. Request is dispatched by calling thread,
+	 * future is completed once all listeners, which received request, returned, or on timeout with responses given 
+	 * so far. See {@link #request(RequestEvent, Duration)}.
+	 *
+	 * @param request request event
+	 * @param timeout time to wait for responses, with precision of 10ms
+	 * @param <R> response type
+	 * @return future of responses in order they were given, empty if there were none
+	 */
+	<R> CompletableFuture<List<R>> requestAll(RequestEvent<R> request, Duration timeout);
+
+	/**
+	 * Subscribes synchronous responder to requests of given class. Responder returning <code>null</code> doesn't 
+	 * respond. Subscription builder allows other responder parameters, with listener calling 
+	 * {@link RequestEvent#respond(Object)}.
+	 *
+	 * @param requestClass request class
+	 * @param responder function returning response to request
+	 * @param <R> response type
+	 * @param <T> request type
+	 * @return {@link ListenerHandle}, which allows responding cancellation
+	 */
+	<R, T extends RequestEvent<R>> ListenerHandle subscribeResponder(
+			Class<T> requestClass,
+			Function<? super T, ? extends R> responder
+	);
+	
+	// endregion
+
+	/**
+	 * Returns snapshot of statistics, collected since bus creation.
+	 * 
+	 * @throws IllegalStateException if bus was created without {@link EventBusOptions#stats()}
+	 */
+	EventBusStats stats();
+
+	/**
+	 * Returns result of the latest subscriptions leak check, see {@link EventBusOptions#leakDetection}.
+	 * Report is empty if there were no checks yet or leak detection is disabled.
+	 */
+	LeakReport leakReport();
+
+	/**
+	 * Releases threads of shared async pool. Pending asynchronous executions are completed, 
+	 * further ones are rejected with {@link java.util.concurrent.RejectedExecutionException}, passed to subscription 
+	 * error handlers. Synchronous listeners are still executed. Ring buffer dispatcher exits after dispatching 
+	 * already published events, further events are dispatched by publishing thread. Slow listeners are no longer
+	 * reported.
+	 */
+	@Override
+	void close();
+}
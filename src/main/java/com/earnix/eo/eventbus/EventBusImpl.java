@@ -1,24 +1,29 @@
 package com.earnix.eo.eventbus;
 
 import javax.swing.SwingUtilities;
-import java.lang.annotation.Annotation;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.time.Duration;
-import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
-import static java.util.stream.Collectors.toList;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,86 +34,561 @@ import org.slf4j.LoggerFactory;
  */
 class EventBusImpl implements EventBus
 {
-	// TM TBD: error handling in builder, optionals, unsubscribe after timeout, listeners exec timeout,
-	// responding events, ID-based events filtering, memory leaks detection, stats calculation.
+	// TM TBD: error handling in builder, optionals, unsubscribe after timeout.
 
 	private static final Logger log = LoggerFactory.getLogger(EventBusImpl.class);
 	
-	private static final Duration MAINTENANCE_INTERVAL = Duration.ofSeconds(10);
+	private static final int MAX_EXPIRED_PER_MAINTENANCE = 64;
+	private static final Duration ASYNC_THREAD_KEEP_ALIVE = Duration.ofSeconds(10);
+	/**
+	 * Maximal count of events, which async subscription executes before releasing pool thread to other subscriptions.
+	 */
+	private static final int DRAIN_BATCH_SIZE = 64;
 	
 	private final String name;
-	private EdtExecutor syncEdtScheduler = new EdtExecutor(true);
-	private EdtExecutor asyncEdtScheduler = new EdtExecutor(false);
-	private Instant lastMaintenance = Instant.now();
-	
-	final HashMap<ListenerHandle, WeakConsumer<Event>> weakListeners = new HashMap<>();
+	private final EventBusOptions options;
+	private final EdtExecutor syncEdtScheduler;
+	private final EdtExecutor asyncEdtScheduler;
+	private final ThreadPoolExecutor asyncPool;
+	/**
+	 * Starts virtual thread per task, <code>null</code> if JVM doesn't support virtual threads.
+	 */
+	private final ExecutorService virtualThreadsExecutor;
+	/**
+	 * Ring of published events, <code>null</code> if events are dispatched by publishing thread.
+	 */
+	private final RingBuffer ringBuffer;
+	/**
+	 * References of weak listeners, which were collected, but whose subscriptions weren't cancelled yet.
+	 */
+	private final ReferenceQueue<Object> collectedListeners = new ReferenceQueue<>();
 	
-	private final HashMap<Class<Event>, List<Subscription<Event>>> data = new HashMap<>();
+	private final SubscriptionRegistry registry = new SubscriptionRegistry();
+	/**
+	 * <code>null</code> if bus doesn't collect statistics.
+	 */
+	private final BusStatistics statistics;
+	private final ListenerWatchdog watchdog;
+	/**
+	 * <code>null</code> if leak detection is disabled.
+	 */
+	private final LeakDetector leakDetector;
 
 	EventBusImpl(String name)
+	{
+		this(name, new EventBusOptions());
+	}
+
+	EventBusImpl(String name, EventBusOptions options)
 	{
 		Validator.notNull(name);
+		Validator.notNull(options);
 		this.name = name;
+		this.options = options;
+		final EdtBatchExecutor edtBatch = options.coalesceEdt ? new EdtBatchExecutor(options.edtFrameRate) : null;
+		this.syncEdtScheduler = new EdtExecutor(true, edtBatch);
+		this.asyncEdtScheduler = new EdtExecutor(false, edtBatch);
+		this.asyncPool = createAsyncPool();
+		this.statistics = options.stats ? new BusStatistics(options.statsSampleInterval) : null;
+		this.leakDetector = !options.leakDetection ? null : new LeakDetector(
+				name, 
+				options.leakGrowthThreshold, 
+				options.leakCheckInterval.toNanos()
+		);
+		this.watchdog = new ListenerWatchdog(
+				"eventbus-" + name + "-watchdog",
+				options.slowListenerHandler != null ? options.slowListenerHandler : this::logSlowListener
+		);
+		this.virtualThreadsExecutor = VirtualThreads.newExecutor("eventbus-" + name + "-virtual-");
+		this.ringBuffer = options.ringBufferCapacity == 0 ? null : new RingBuffer(
+				options.ringBufferCapacity,
+				options.waitStrategy,
+				this::dispatchFromRing,
+				"eventbus-" + name + "-dispatcher"
+		);
+	}
+
+	/**
+	 * Creates pool, shared by all async subscriptions of this bus. Each subscription submits at most one task at a time
+	 * (see {@link SerialExecutor}), so pool queue is bounded by number of subscriptions with pending events, and isn't
+	 * bounded explicitly: listeners are never executed by publisher, pending events of each subscription are bounded 
+	 * by its {@link SubscriptionBuilder#queueCapacity(int, OverflowPolicy)}.
+	 */
+	private ThreadPoolExecutor createAsyncPool()
+	{
+		ThreadFactory threadFactory = options.asyncThreadFactory;
+		if (threadFactory == null)
+		{
+			final AtomicInteger threadNumber = new AtomicInteger();
+			threadFactory = runnable -> {
+				final Thread thread = new Thread(runnable, "eventbus-" + name + "-async-" + threadNumber.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			};
+		}
+		final ThreadPoolExecutor pool = new ThreadPoolExecutor(
+				options.asyncThreads,
+				options.asyncThreads,
+				ASYNC_THREAD_KEEP_ALIVE.toNanos(),
+				TimeUnit.NANOSECONDS,
+				new LinkedBlockingQueue<>(),
+				threadFactory,
+				(task, executor) -> {
+					throw new RejectedExecutionException("Event bus " + name + " is closed");
+				}
+		);
+		pool.allowCoreThreadTimeOut(true);
+		return pool;
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public synchronized void publish(Event... events)
+	public void close()
 	{
-		Stream.of(events).forEach(event -> {
-			List<Map.Entry<Class<Event>, List<Subscription<Event>>>> assignable = data.entrySet().stream()
-					.filter(entry -> entry.getKey().isAssignableFrom(event.getClass()))
-					.collect(Collectors.toList());
-			
-			assignable.forEach(entry -> {
-				// creating another list to avoid ConcurrentModificationException
-				new ArrayList<>(entry.getValue()).forEach(subscription -> tryExecuteListener(event, subscription));
-			});
-			
-			log.trace("EventBus[{}] Published an event of type {}", name, event.getClass().getSimpleName());
-		});
+		if (ringBuffer != null)
+		{
+			ringBuffer.close();
+		}
+		asyncPool.shutdown();
+		if (virtualThreadsExecutor != null)
+		{
+			virtualThreadsExecutor.shutdown();
+		}
+		watchdog.close();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void publish(Event event)
+	{
+		if (ringBuffer != null && ringBuffer.offer(event))
+		{
+			return;
+		}
+		if (options.serialized)
+		{
+			synchronized (this)
+			{
+				dispatch(event);
+			}
+		}
+		else
+		{
+			dispatch(event);
+		}
 		attemptMaintenance();
 	}
 
-	private void tryExecuteListener(Event event, Subscription<Event> subscription)
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void publish(Event... events)
 	{
-		// checking event condition
-		if (subscription.condition != null && !subscription.condition.test(event))
+		if (ringBuffer != null)
 		{
+			for (Event event : events)
+			{
+				publish(event);
+			}
 			return;
 		}
+		if (options.serialized)
+		{
+			synchronized (this)
+			{
+				for (Event event : events)
+				{
+					dispatch(event);
+				}
+			}
+		}
+		else
+		{
+			for (Event event : events)
+			{
+				dispatch(event);
+			}
+		}
+		attemptMaintenance();
+	}
 
-		// checking subscription delay
-		if (subscription.delay != null && subscription.subscribedAt.plus(subscription.delay).isAfter(Instant.now()))
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void publishAll(Collection<? extends Event> events)
+	{
+		Validator.notNull(events);
+		if (ringBuffer != null)
 		{
+			for (Event event : events)
+			{
+				publish(event);
+			}
 			return;
 		}
+		if (options.serialized)
+		{
+			synchronized (this)
+			{
+				dispatchAll(events);
+			}
+		}
+		else
+		{
+			dispatchAll(events);
+		}
+		attemptMaintenance();
+	}
 
-		// executing
-		if (subscription.executor != null)
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public EventBatch publishBatch()
+	{
+		return new EventBatch(this);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T extends Event> void registerKeyExtractor(Class<T> eventClass, Function<? super T, ?> keyExtractor)
+	{
+		Validator.notNull(eventClass);
+		Validator.notNull(keyExtractor);
+		registry.registerKeyExtractor(eventClass, (Function<Event, ?>) keyExtractor);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <R> CompletableFuture<R> request(RequestEvent<R> request, Duration timeout)
+	{
+		Validator.notNull(request);
+		validateTimeout(timeout);
+		final ResponseCollector<R> collector = ResponseCollector.first(request.getClass());
+		sendRequest(request, collector, timeout);
+		return collector.firstResponse();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <R> CompletableFuture<List<R>> requestAll(RequestEvent<R> request, Duration timeout)
+	{
+		Validator.notNull(request);
+		validateTimeout(timeout);
+		final ResponseCollector<R> collector = ResponseCollector.all(request.getClass());
+		sendRequest(request, collector, timeout);
+		return collector.allResponses();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <R, T extends RequestEvent<R>> ListenerHandle subscribeResponder(
+			Class<T> requestClass, 
+			Function<? super T, ? extends R> responder)
+	{
+		Validator.notNull(requestClass);
+		Validator.notNull(responder);
+		final SubscriptionParameters<T, Event> parameters = new SubscriptionParameters<>();
+		parameters.eventClass = requestClass;
+		parameters.listener = request -> {
+			final R response = responder.apply(request);
+			if (response != null)
+			{
+				request.respond(response);
+			}
+		};
+		parameters.name = responder.getClass().getName();
+		return subscribeImpl(parameters);
+	}
+
+	private static void validateTimeout(Duration timeout)
+	{
+		Validator.notNull(timeout);
+		Validator.isTrue(!timeout.isNegative(), "Timeout must not be negative");
+	}
+
+	private <R> void sendRequest(RequestEvent<R> request, ResponseCollector<R> collector, Duration timeout)
+	{
+		// attaching first, so that rejected re-sending doesn't leave timeout scheduled
+		request.attach(collector);
+		collector.timeoutAfter(timeout);
+		if (options.serialized)
 		{
-			subscription.executor.execute(() -> {
-				try
+			synchronized (this)
+			{
+				dispatchRequest(request, collector);
+			}
+		}
+		else
+		{
+			dispatchRequest(request, collector);
+		}
+		// dispatching is done
+		collector.returned();
+		attemptMaintenance();
+	}
+
+	/**
+	 * Delivers request like {@link #dispatch(Event)}, counting listener executions, which it waits for.
+	 */
+	private <R> void dispatchRequest(RequestEvent<R> request, ResponseCollector<R> collector)
+	{
+		final ConsumableEvent consumable = request instanceof ConsumableEvent ? (ConsumableEvent) request : null;
+		int deliveries = 0;
+		for (Subscription<Event> subscription : registry.resolve(request))
+		{
+			if (collector.isAnswered() || consumable != null && consumable.isConsumed())
+			{
+				break;
+			}
+			// counted before execution, since asynchronous one may return before submission does
+			collector.expect();
+			if (tryExecuteListener(request, subscription, collector))
+			{
+				deliveries++;
+			}
+			else
+			{
+				collector.returned();
+			}
+		}
+		if (statistics != null)
+		{
+			statistics.recordPublish(request.getClass(), deliveries);
+		}
+
+		if (log.isTraceEnabled())
+		{
+			log.trace("EventBus[{}] Sent a request of type {}", name, request.getClass().getSimpleName());
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public EventBusStats stats()
+	{
+		if (statistics == null)
+		{
+			throw new IllegalStateException("EventBus[" + name + "] doesn't collect statistics, see EventBusOptions.stats()");
+		}
+		return statistics.snapshot();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public LeakReport leakReport()
+	{
+		return leakDetector == null ? new LeakReport(Collections.emptyList()) : leakDetector.report();
+	}
+
+	/**
+	 * Delivers events in order against single snapshot. Synchronous listeners are executed immediately, 
+	 * asynchronous ones are collected and submitted as one chunk per subscription after all events are dispatched.
+	 */
+	private void dispatchAll(Collection<? extends Event> events)
+	{
+		final SubscriptionRegistry.Snapshot snapshot = registry.snapshot();
+		final HashMap<Class<?>, Subscription<Event>[]> resolved = new HashMap<>();
+		// subscriptions don't override equals, keeping order of first matching event
+		final LinkedHashMap<Subscription<Event>, List<Event>> chunks = new LinkedHashMap<>();
+		for (Event event : events)
+		{
+			final Subscription<Event>[] subscriptions = snapshot.withKeyed(
+					event, 
+					resolved.computeIfAbsent(event.getClass(), snapshot::resolve)
+			);
+			final ConsumableEvent consumable = event instanceof ConsumableEvent ? (ConsumableEvent) event : null;
+			int deliveries = 0;
+			for (Subscription<Event> subscription : subscriptions)
+			{
+				if (consumable != null && consumable.isConsumed())
 				{
-					subscription.listener.accept(event);
+					break;
 				}
-				catch (Exception t)
+				if (!subscription.acceptsChunks())
 				{
-					subscription.errorHandler.accept(t);
+					deliveries += tryExecuteListener(event, subscription, null) ? 1 : 0;
+				}
+				else if (subscription.condition == null || subscription.condition.test(event))
+				{
+					chunks.computeIfAbsent(subscription, s -> new ArrayList<>()).add(event);
+					deliveries++;
+				}
+			}
+			if (statistics != null)
+			{
+				statistics.recordPublish(event.getClass(), deliveries);
+			}
+		}
+		chunks.forEach(this::executeChunk);
+
+		if (log.isTraceEnabled())
+		{
+			log.trace("EventBus[{}] Published {} events", name, events.size());
+		}
+	}
+
+	private void executeChunk(Subscription<Event> subscription, List<Event> events)
+	{
+		try
+		{
+			subscription.executor.execute(() -> {
+				for (Event event : events)
+				{
+					invokeListener(event, subscription, null);
 				}
 			});
 		}
+		catch (RejectedExecutionException e)
+		{
+			subscription.errorHandler.accept(e);
+		}
+	}
+
+	/**
+	 * Delivers event, taken by ring buffer dispatcher thread. Holds bus-wide lock on serialized bus, since requests 
+	 * and events, which don't fit into the ring, are still dispatched by publishers.
+	 */
+	private void dispatchFromRing(Event event)
+	{
+		if (options.serialized)
+		{
+			synchronized (this)
+			{
+				dispatch(event);
+			}
+		}
 		else
+		{
+			dispatch(event);
+		}
+		attemptMaintenance();
+	}
+
+	/**
+	 * Delivers single event to all matching subscriptions. Allocation-free for synchronous listeners.
+	 */
+	private void dispatch(Event event)
+	{
+		final ConsumableEvent consumable = event instanceof ConsumableEvent ? (ConsumableEvent) event : null;
+		int deliveries = 0;
+		// snapshot is immutable, so subscribing or cancelling from listener doesn't affect current iteration
+		for (Subscription<Event> subscription : registry.resolve(event))
+		{
+			if (consumable != null && consumable.isConsumed())
+			{
+				break;
+			}
+			deliveries += tryExecuteListener(event, subscription, null) ? 1 : 0;
+		}
+		if (statistics != null)
+		{
+			statistics.recordPublish(event.getClass(), deliveries);
+		}
+
+		if (log.isTraceEnabled())
+		{
+			log.trace("EventBus[{}] Published an event of type {}", name, event.getClass().getSimpleName());
+		}
+	}
+
+	/**
+	 * @param collector collector of request, which is being sent, <code>null</code> if event is published
+	 * @return <code>true</code> if event passed subscription condition
+	 */
+	private boolean tryExecuteListener(Event event, Subscription<Event> subscription, ResponseCollector<?> collector)
+	{
+		// checking event condition
+		if (subscription.condition != null && !subscription.condition.test(event))
+		{
+			return false;
+		}
+
+		// executing
+		if (subscription.executor != null)
 		{
 			try
 			{
-				subscription.listener.accept(event);
+				if (subscription.orderingKey != null)
+				{
+					subscription.lane(event).execute(() -> invokeListener(event, subscription, collector));
+				}
+				else if (subscription.conflationKey != null)
+				{
+					subscription.queue.execute(subscription.conflationKey.apply(event), () -> invokeListener(event, subscription, collector));
+				}
+				else
+				{
+					subscription.executor.execute(() -> invokeListener(event, subscription, collector));
+				}
 			}
-			catch (Exception t)
+			catch (RejectedExecutionException e)
 			{
-				subscription.errorHandler.accept(t);
+				subscription.errorHandler.accept(e);
+			}
+		}
+		else
+		{
+			invokeListener(event, subscription, collector);
+		}
+		return true;
+	}
+
+	private static void invokeListener(Event event, Subscription<Event> subscription, ResponseCollector<?> collector)
+	{
+		final BusStatistics.ListenerRecorder recorder = subscription.recorder;
+		final boolean timed = recorder != null && recorder.sample();
+		final long start = timed ? System.nanoTime() : 0;
+		final ListenerWatchdog.Slot slot = subscription.watchdog == null ? null : subscription.watchdog.enter(subscription, event);
+		try
+		{
+			subscription.listener.accept(event);
+		}
+		catch (Exception t)
+		{
+			if (recorder != null)
+			{
+				recorder.errors.increment();
+			}
+			subscription.errorHandler.accept(t);
+		}
+		finally
+		{
+			if (slot != null)
+			{
+				subscription.watchdog.exit(slot, subscription);
+			}
+			// request event, which is published as usual one, isn't counted by collector it's attached to
+			if (collector != null)
+			{
+				collector.returned();
+			}
+		}
+		if (recorder != null)
+		{
+			recorder.executions.increment();
+			if (timed)
+			{
+				recorder.latency.record(System.nanoTime() - start);
 			}
 		}
 	}
@@ -229,24 +709,17 @@ class EventBusImpl implements EventBus
 	/**
 	 * Analyzes class or object and class: locates method parameters annotated with {@link ListenEvent} and wraps them into consumers
 	 */
-	private Map<Consumer<Event>, Class<Event>> annotatedMethodsToConsumers(@Nullable final Class<?> clazz, @Nullable Object object)
+	private Map<Consumer<Event>, ListenerMethod> annotatedMethodsToConsumers(@Nullable final Class<?> clazz, @Nullable Object object)
 	{
         Validator.isTrue(clazz != null ^ object != null);
 		final Class<?> targetClass = object != null ? object.getClass() : clazz;
-		final HashMap<Consumer<Event>, Class<Event>> result = new HashMap<>();
-		final List<Method> methods = getMethodsListWithAnnotation(targetClass, ListenEvent.class);
-		for (final Method method : methods)
+		final HashMap<Consumer<Event>, ListenerMethod> result = new HashMap<>();
+		for (final ListenerMethod listenerMethod : ListenerMethods.of(targetClass))
 		{
-			if(object == null && !Modifier.isStatic(method.getModifiers())){
+			if(object == null && !listenerMethod.isStatic){
 				continue;
 			}
-			Class[] parameterTypes = method.getParameterTypes();
-			for (int i = 0; i < parameterTypes.length; i++)
-			{
-				Validator.isTrue(Event.class.isAssignableFrom(parameterTypes[i]), "Event listening method parameter class must implement Event marker");
-				//noinspection unchecked
-				result.put(new MethodConsumer<>(i, method, object), parameterTypes[i]);
-			}
+			result.put(listenerMethod.createConsumer(object), listenerMethod);
 		}
 		Validator.isTrue(result.size() > 0, "Passed object doesn't have event listening methods");
 		return result;
@@ -273,39 +746,47 @@ class EventBusImpl implements EventBus
 
 	private ListenerHandle subscribeMethods(Class<?> classWithListeners, final Object objectWithListeners)
 	{
-		final Map<Consumer<Event>, Class<Event>> consumers = annotatedMethodsToConsumers(classWithListeners, objectWithListeners);
+		final Map<Consumer<Event>, ListenerMethod> consumers = annotatedMethodsToConsumers(classWithListeners, objectWithListeners);
 		final ArrayList<ListenerHandle> allSubscriptions = new ArrayList<>();
-		for (Map.Entry<Consumer<Event>, Class<Event>> consumerClassEntry : consumers.entrySet())
-		{
-			ListenerHandle handle = this.subscribe(
-					consumerClassEntry.getValue(),
-					consumerClassEntry.getKey(), 
-					null, 
-					null, 
-					null
-			);
-			allSubscriptions.add(handle);
+		for (Map.Entry<Consumer<Event>, ListenerMethod> consumerMethodEntry : consumers.entrySet())
+		{
+			final SubscriptionParameters<Event, Event> parameters = new SubscriptionParameters<>();
+			parameters.eventClass = consumerMethodEntry.getValue().eventClass;
+			parameters.listener = consumerMethodEntry.getKey();
+			parameters.priority = consumerMethodEntry.getValue().priority;
+			allSubscriptions.add(subscribeImpl(parameters));
 		}
 		return mergeHandles(allSubscriptions);
 	}
 
 	@SuppressWarnings({ "unchecked", "ConstantConditions" })
-	private synchronized <T extends Event, K extends Event> ListenerHandle subscribeImpl(
+	private <T extends Event, K extends Event> ListenerHandle subscribeImpl(
 			SubscriptionParameters<T, K> params)
 	{
 		if (params.objectWithListeningMethods != null || params.classWithListeningMethods != null)
 		{
 			// recursive call to handle each annotated method
-			final Map<Consumer<Event>, Class<Event>> consumers = annotatedMethodsToConsumers(params.classWithListeningMethods, params.objectWithListeningMethods);
+			final Map<Consumer<Event>, ListenerMethod> consumers = annotatedMethodsToConsumers(params.classWithListeningMethods, params.objectWithListeningMethods);
+			if (params.name == null)
+			{
+				params.name = params.objectWithListeningMethods != null ? 
+							  params.objectWithListeningMethods.getClass().getName() : 
+							  params.classWithListeningMethods.getName();
+			}
 			params.objectWithListeningMethods = null;
 			params.classWithListeningMethods = null;
 			final ArrayList<ListenerHandle> allHandles = new ArrayList<>();
-			for (Map.Entry<Consumer<Event>, Class<Event>> consumerClassEntry : consumers.entrySet())
+			for (Map.Entry<Consumer<Event>, ListenerMethod> consumerMethodEntry : consumers.entrySet())
 			{
 				SubscriptionParameters<Event, Event> concreteParameters = new SubscriptionParameters(params);
-				concreteParameters.eventClass = consumerClassEntry.getValue();
-				concreteParameters.listener = consumerClassEntry.getKey();
-				ListenerHandle handle = this.subscribeImpl(params);
+				concreteParameters.eventClass = consumerMethodEntry.getValue().eventClass;
+				concreteParameters.listener = consumerMethodEntry.getKey();
+				if (concreteParameters.priority == null)
+				{
+					// priority, set by builder, overrides annotated one
+					concreteParameters.priority = consumerMethodEntry.getValue().priority;
+				}
+				ListenerHandle handle = this.subscribeImpl(concreteParameters);
 				allHandles.add(handle);
 			}
 			return mergeHandles(allHandles);
@@ -314,15 +795,29 @@ class EventBusImpl implements EventBus
 		{
 			// single subscription
 
+			// publisher would wait for the queue holding bus lock, which listener needs to publish
+			Validator.isTrue(
+					params.overflowPolicy != OverflowPolicy.BLOCK || !options.serialized,
+					"Blocking overflow policy is not allowed on serialized bus"
+			);
 			final Subscription subscription = new Subscription();
 			
 			Consumer<T> listener = params.listener;
 			
 			if (params.weak)
 			{
-				listener = new WeakConsumer<>(this, listener);
+				listener = new WeakConsumer<>(this, listener, collectedListeners);
 			}
 			subscription.listener = listener;
+			subscription.priority = params.priority == null ? 0 : params.priority;
+			if (params.key != null)
+			{
+				Validator.isTrue(
+						registry.keyExtractor(params.eventClass) != null,
+						"No key extractor registered for " + params.eventClass.getName()
+				);
+				subscription.key = params.key;
+			}
 
 			if (params.eventCondition != null)
 			{
@@ -331,12 +826,35 @@ class EventBusImpl implements EventBus
 			
 			configureThreading(subscription, params);
 
+			subscription.name = params.name != null ? params.name : params.listener.getClass().getName();
+			if (leakDetector != null)
+			{
+				subscription.site = leakDetector.sample(params.eventClass);
+			}
+			if (statistics != null)
+			{
+				subscription.recorder = statistics.register(subscription.name, params.eventClass);
+			}
+			final Duration overrun = params.timeout != null ? params.timeout : options.slowListenerThreshold;
+			if (overrun != null)
+			{
+				subscription.overrunNanos = overrun.toNanos();
+				subscription.overrunIsTimeout = params.timeout != null;
+				subscription.interruptOnOverrun = params.interruptOnTimeout;
+				watchdog.watch(subscription.overrunNanos);
+				subscription.watchdog = watchdog;
+			}
+
 			subscription.errorHandler = new CompositeErrorConsumer(params.errorConsumers);
 			
-			subscription.subscribedAt = Instant.now();
-			
-			List<Subscription<Event>> perEvent = data.computeIfAbsent((Class<Event>) params.eventClass, aClass -> new ArrayList<>());
-			perEvent.add(subscription);
+			if (params.delay == null || params.delay.isZero())
+			{
+				registry.add(params.eventClass, subscription);
+			}
+			else
+			{
+				scheduleActivation(params.eventClass, subscription, params.delay);
+			}
 			ListenerHandle handle = new DefaultListenerHandle<>(params.eventClass, subscription);
 
 			// cancelling on cancellation event
@@ -354,11 +872,10 @@ class EventBusImpl implements EventBus
 				cancelListener.handleToCancel = handle;
 			}
 
-			// storing handle for cleanup after weak reference removal
+			// cancelling after weak reference removal
 			if (params.weak)
 			{
-				handle = new WeakListenerHandle(this, handle);
-				weakListeners.put(handle, (WeakConsumer<Event>) listener);
+				((WeakConsumer<T>) listener).attach(handle);
 			}
 
 			return handle;
@@ -369,9 +886,20 @@ class EventBusImpl implements EventBus
 	{
 		final boolean isEdt = SwingUtilities.isEventDispatchThread();
 
-		if (params.afterThread != null)
+		if (params.afterThread != null || params.afterFuture != null)
 		{
-			subscription.executor = new AfterThreadExecutor(params.afterThread, params.edt || params.asyncEdt);
+			final Executor target = params.edt || params.asyncEdt ? asyncEdtScheduler : asyncExecutor(params);
+			// thread state is checked per submitted drain task rather than on subscription, so thread may be started later
+			final Executor prior = params.afterThread != null
+					? new AfterThreadExecutor(params.afterThread, target)
+					: new AfterCompletionExecutor(params.afterFuture, target);
+			// serial queue keeps publishing order and is dropped on cancellation, at most one drain task is held
+			subscription.queue = new SerialExecutor(prior);
+			if (target != asyncEdtScheduler)
+			{
+				subscription.queue.batched(DRAIN_BATCH_SIZE);
+			}
+			subscription.executor = subscription.queue;
 		}
 		else if (params.asyncEdt || params.edt && params.async)
 		{
@@ -385,42 +913,128 @@ class EventBusImpl implements EventBus
 		{
 			subscription.executor = params.executor;
 		}
+		else if (params.async && params.orderingKey != null)
+		{
+			subscription.executor = asyncExecutor(params);
+		}
 		else if (params.async)
 		{
-			subscription.executor = Executors.newSingleThreadExecutor();
+			subscription.queue = new SerialExecutor(asyncExecutor(params)).batched(DRAIN_BATCH_SIZE);
+			subscription.executor = subscription.queue;
 		}
 		else if (isEdt)
 		{
 			// if subscribe was called from EDT - sync EDT scheduler
 			subscription.executor = syncEdtScheduler;
 		}
-		if (params.delay != null)
+		if (params.orderingKey != null)
+		{
+			// executor, chosen above, executes lanes
+			subscription.lanes = new SerialExecutor[params.parallelism];
+			for (int i = 0; i < params.parallelism; i++)
+			{
+				subscription.lanes[i] = new SerialExecutor(subscription.executor);
+				if (params.executor == null)
+				{
+					subscription.lanes[i].batched(DRAIN_BATCH_SIZE);
+				}
+				if (params.queueCapacity > 0)
+				{
+					subscription.lanes[i].bounded(params.queueCapacity, params.overflowPolicy);
+				}
+			}
+			subscription.orderingKey = params.orderingKey;
+		}
+		else if (params.conflate || params.conflationKey != null || params.queueCapacity > 0)
+		{
+			if (subscription.queue == null)
+			{
+				subscription.queue = new SerialExecutor(subscription.executor);
+				subscription.executor = subscription.queue;
+			}
+			if (params.conflate)
+			{
+				// only the latest task is executed, if previous ones weren't started yet
+				subscription.queue.bounded(1, OverflowPolicy.DROP_OLDEST);
+			}
+			else if (params.queueCapacity > 0)
+			{
+				subscription.queue.bounded(params.queueCapacity, params.overflowPolicy);
+			}
+			if (params.conflationKey != null)
+			{
+				subscription.queue.conflatingByKey();
+				subscription.conflationKey = params.conflationKey;
+			}
+		}
+	}
+
+	/**
+	 * Delayed subscription is registered by shared timer, so dispatching doesn't check the clock. 
+	 */
+	private void scheduleActivation(Class<?> eventClass, Subscription<Event> subscription, Duration delay)
+	{
+		// timer task waits for the lock until activation is assigned
+		synchronized (subscription)
 		{
-			subscription.delay = params.delay;
+			subscription.activation = TimerWheel.shared().schedule(() -> {
+				synchronized (subscription)
+				{
+					// not cancelled yet
+					if (subscription.activation != null)
+					{
+						subscription.activation = null;
+						registry.add(eventClass, subscription);
+					}
+				}
+			}, delay.toNanos());
 		}
 	}
 
 	/**
-	 * Performs periodical maintenance of this event bus. 
-	 * Now it's cleaning of dead weak listeners wrappers.
-	 * In future may be used to implement memory leaks detection and to calculate stats.
+	 * @return executor, which runs drain tasks of subscription's {@link SerialExecutor}
+	 */
+	private Executor asyncExecutor(SubscriptionParameters<?, ?> params)
+	{
+		final boolean virtual = (params.virtualThreads || options.virtualThreads) && virtualThreadsExecutor != null;
+		return virtual ? virtualThreadsExecutor : asyncPool;
+	}
+
+	private void logSlowListener(SlowListenerReport report)
+	{
+		final Exception stack = new Exception("Stack of slow listener thread " + report.getThread().getName());
+		stack.setStackTrace(report.getStackTrace());
+		log.warn("EventBus[{}] {}", name, report, stack);
+	}
+
+	/**
+	 * Performs incremental maintenance of this event bus on publishing. 
+	 * Cancels subscriptions of collected weak listeners: at most {@link #MAX_EXPIRED_PER_MAINTENANCE} 
+	 * of them per call, so cost is proportional to number of collected listeners rather than to total.
+	 * Periodically checks subscriptions counts for leaks.
 	 */
 	void attemptMaintenance()
 	{
-		Instant now = Instant.now();
-		if (now.isAfter(lastMaintenance.plus(MAINTENANCE_INTERVAL)))
+		// doesn't lock nor allocate if nothing was collected
+		Reference<?> collected;
+		for (int i = 0; i < MAX_EXPIRED_PER_MAINTENANCE && (collected = collectedListeners.poll()) != null; i++)
 		{
-			lastMaintenance = now;
-			if (!weakListeners.isEmpty())
-			{
-				weakListeners.entrySet()
-						.stream()
-						.filter(e -> e.getValue().isRemoved())
-						.map(Map.Entry::getKey)
-						// creating another list to avoid ConcurrentModificationException
-						.collect(toList())
-						.forEach(ListenerHandle::cancel);
-			}
+			((WeakConsumer.ListenerReference<?>) collected).expire();
+		}
+		if (leakDetector != null && leakDetector.isCheckDue())
+		{
+			leakDetector.checkIfDue(registry::subscriptionCounts);
+		}
+	}
+
+	/**
+	 * Checks subscriptions counts for leaks immediately.
+	 */
+	void checkLeaks()
+	{
+		if (leakDetector != null)
+		{
+			leakDetector.check(registry.subscriptionCounts());
 		}
 	}
 
@@ -448,62 +1062,30 @@ class EventBusImpl implements EventBus
 			this.subscription = subscription;
 		}
 
-		@SuppressWarnings("SuspiciousMethodCalls")
+		@SuppressWarnings("unchecked")
 		@Override
 		public void cancel()
 		{
-			synchronized (EventBusImpl.this)
+			// pending activation is cancelled first, so it can't register subscription after removal
+			subscription.cancel();
+			registry.remove(eventClass, (Subscription<Event>) subscription);
+			if (subscription.recorder != null)
 			{
-				final List<Subscription<Event>> perEvent = data.get(eventClass);
-				if (perEvent != null)
-				{
-					perEvent.remove(subscription);
-					if (perEvent.isEmpty())
-					{
-						data.remove(eventClass);
-					}
-				}
+				statistics.unregister(subscription.recorder);
 			}
 		}
 
-		@SuppressWarnings("SuspiciousMethodCalls")
+		@SuppressWarnings("unchecked")
 		@Override
 		public boolean isActive()
 		{
-			synchronized (EventBusImpl.class)
-			{
-				List<Subscription<Event>> perEvent = data.get(eventClass);
-				return perEvent != null && perEvent.contains(subscription);
-			}
-		}
-	}
-	
-	private static class MethodConsumer<T extends Event> implements Consumer<T>
-	{
-		private int argIndex;
-		private Method method;
-		private Object target;
-
-		MethodConsumer(int argIndex, Method method, Object target)
-		{
-			this.argIndex = argIndex;
-			this.method = method;
-			this.target = target;
+			return registry.contains(eventClass, (Subscription<Event>) subscription) || subscription.isAwaitingActivation();
 		}
 
 		@Override
-		public void accept(T o)
+		public int queueSize()
 		{
-			Object[] args = new Object[method.getParameterTypes().length];
-			args[argIndex] = o;
-			try
-			{
-				method.invoke(target, args);
-			}
-			catch (IllegalAccessException | InvocationTargetException e)
-			{
-				throw new RuntimeException(e);
-			}
+			return subscription.queueSize();
 		}
 	}
 	
@@ -517,17 +1099,4 @@ class EventBusImpl implements EventBus
 			handleToCancel.cancel();
 		}
 	}
-
-    private static List<Method> getMethodsListWithAnnotation(final Class<?> cls, final Class<? extends Annotation> annotationCls) {
-        Validator.isTrue(cls != null, "The class must not be null");
-        Validator.isTrue(annotationCls != null, "The annotation class must not be null");
-        final Method[] allMethods = cls.getMethods();
-        final List<Method> annotatedMethods = new ArrayList<>();
-        for (final Method method : allMethods) {
-            if (method.getAnnotation(annotationCls) != null) {
-                annotatedMethods.add(method);
-            }
-        }
-        return annotatedMethods;
-    }
 }
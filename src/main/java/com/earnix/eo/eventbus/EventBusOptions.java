@@ -0,0 +1,218 @@
+package com.earnix.eo.eventbus;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+
+/**
+ * Event bus configuration, used on bus creation: {@link Events#createBus(String, EventBusOptions)}.
+ */
+public class EventBusOptions
+{
+	boolean serialized;
+	int asyncThreads = Runtime.getRuntime().availableProcessors();
+	ThreadFactory asyncThreadFactory;
+	boolean virtualThreads;
+	boolean coalesceEdt;
+	int edtFrameRate;
+	int ringBufferCapacity;
+	WaitStrategy waitStrategy;
+	boolean stats;
+	int statsSampleInterval;
+	Duration slowListenerThreshold;
+	Consumer<SlowListenerReport> slowListenerHandler;
+	boolean leakDetection;
+	int leakGrowthThreshold = 1000;
+	Duration leakCheckInterval = Duration.ofMinutes(1);
+
+	/**
+	 * Serializes publishing: only one thread at a time may publish events to the bus, and synchronous listeners
+	 * are executed holding bus-wide lock.
+	 * <br/>
+	 * By default events are published concurrently: independent publishers dispatch in parallel, each against 
+	 * consistent snapshot of subscriptions.
+	 * <br/>
+	 * Combined with {@link #ringBuffer(int)}, dispatcher thread delivers events holding the same lock, so they 
+	 * aren't delivered concurrently with requests and events, dispatched by publishers.
+	 */
+	public EventBusOptions serialized()
+	{
+		serialized = true;
+		return this;
+	}
+
+	/**
+	 * Sets maximal number of threads of shared pool, which executes asynchronous listeners of the bus. 
+	 * Idle threads are released. By default equals to available processors count.
+	 */
+	public EventBusOptions asyncThreads(int threads)
+	{
+		Validator.isTrue(threads > 0, "Async threads count must be positive");
+		asyncThreads = threads;
+		return this;
+	}
+
+	/**
+	 * Sets factory of shared async pool threads. By default daemon threads are created.
+	 */
+	public EventBusOptions asyncThreadFactory(ThreadFactory threadFactory)
+	{
+		Validator.notNull(threadFactory);
+		asyncThreadFactory = threadFactory;
+		return this;
+	}
+
+	/**
+	 * Executes all async listeners of the bus on virtual threads if JVM supports them (Java 21+), 
+	 * otherwise on shared pool. See also {@link SubscriptionBuilder#virtualThreads()}.
+	 */
+	public EventBusOptions virtualThreads()
+	{
+		virtualThreads = true;
+		return this;
+	}
+
+	/**
+	 * Coalesces EDT deliveries of the bus: listeners executions, pending for EDT, are performed in batches, one queued
+	 * EDT event per batch, in publishing order. Listeners of {@link SubscriptionBuilder#edt()} subscriptions are still
+	 * executed synchronously if event is published from EDT, otherwise publisher doesn't wait for them.
+	 */
+	public EventBusOptions coalesceEdt()
+	{
+		coalesceEdt = true;
+		return this;
+	}
+
+	/**
+	 * Coalesces EDT deliveries (see {@link #coalesceEdt()}) and limits batches frequency, e.g. to 60 per second. 
+	 * Combined with {@link SubscriptionBuilder#conflate()} allows to keep UI responsive under events burst.
+	 */
+	public EventBusOptions edtFrameRate(int framesPerSecond)
+	{
+		Validator.isTrue(framesPerSecond > 0, "Frame rate must be positive");
+		coalesceEdt = true;
+		edtFrameRate = framesPerSecond;
+		return this;
+	}
+
+	/**
+	 * Enables statistics collection: publish counts, rates and fan-out per event class, execution counts and time 
+	 * histograms per subscription. Statistics are available via {@link EventBus#stats()}. 
+	 * <br/>
+	 * Execution time is measured for random 1 of 16 executions: reading clock costs more than the rest of recording, 
+	 * so recording costs a few nanoseconds per listener execution. Disabled statistics cost nothing.
+	 * <br/>
+	 * Global bus collects statistics if system property {@value Events#STATS_PROPERTY} is <code>true</code>.
+	 */
+	public EventBusOptions stats()
+	{
+		return stats(16);
+	}
+
+	/**
+	 * Enables statistics collection, see {@link #stats()}.
+	 *
+	 * @param sampleInterval execution time is measured for random 1 of given count of executions, power of two; 
+	 * 1 measures all executions
+	 */
+	public EventBusOptions stats(int sampleInterval)
+	{
+		Validator.isTrue(
+				sampleInterval > 0 && Integer.bitCount(sampleInterval) == 1, 
+				"Sample interval must be power of two"
+		);
+		stats = true;
+		statsSampleInterval = sampleInterval;
+		return this;
+	}
+
+	/**
+	 * Reports listener executions, which run longer than given threshold, to {@link #slowListenerHandler(Consumer)}.
+	 * Subscription may override it with {@link SubscriptionBuilder#timeout(Duration)}.
+	 * <br/>
+	 * Executions are checked by bus watchdog thread, so listener execution only pays for publishing its state 
+	 * into thread-local slot. Slow synchronous listener stalls publisher, so threshold helps to find ones, 
+	 * which should be asynchronous.
+	 */
+	public EventBusOptions slowListenerThreshold(Duration threshold)
+	{
+		Validator.notNull(threshold);
+		Validator.isTrue(!threshold.isNegative() && !threshold.isZero(), "Slow listener threshold must be positive");
+		slowListenerThreshold = threshold;
+		return this;
+	}
+
+	/**
+	 * Sets handler of slow listener reports, which is called on bus watchdog thread while listener is still running,
+	 * so it must be short. By default reports are logged with sampled stack of listener thread.
+	 */
+	public EventBusOptions slowListenerHandler(Consumer<SlowListenerReport> handler)
+	{
+		Validator.notNull(handler);
+		slowListenerHandler = handler;
+		return this;
+	}
+
+	/**
+	 * Enables subscriptions leak detection with growth threshold 1000 and check interval of 1 minute, 
+	 * see {@link #leakDetection(int, Duration)}. 
+	 */
+	public EventBusOptions leakDetection()
+	{
+		leakDetection = true;
+		return this;
+	}
+
+	/**
+	 * Enables subscriptions leak detection, which is disabled by default. Subscriptions counts are checked during 
+	 * publishing, once per interval: event class is suspected of leak, if its subscriptions count grew on each of 
+	 * last 5 checks and by at least threshold in total. Suspects are logged and available via 
+	 * {@link EventBus#leakReport()}, with code locations which made most of subscriptions (stack is captured for 
+	 * random 1 of 16 subscriptions).
+	 * <br/>
+	 * Global bus detects leaks if system property {@value Events#LEAK_DETECTION_PROPERTY} is <code>true</code>.
+	 *
+	 * @param growthThreshold minimal growth of subscriptions count over checked period
+	 * @param checkInterval interval between checks
+	 */
+	public EventBusOptions leakDetection(int growthThreshold, Duration checkInterval)
+	{
+		Validator.isTrue(growthThreshold > 0, "Leak growth threshold must be positive");
+		Validator.notNull(checkInterval);
+		Validator.isTrue(!checkInterval.isNegative() && !checkInterval.isZero(), "Leak check interval must be positive");
+		leakDetection = true;
+		leakGrowthThreshold = growthThreshold;
+		leakCheckInterval = checkInterval;
+		return this;
+	}
+
+	/**
+	 * Makes publishing asynchronous: {@link EventBus#publish(Event)} stores event into preallocated ring buffer and 
+	 * returns, dedicated dispatcher thread of the bus delivers events to subscriptions in publishing order.
+	 * Suits fire-and-forget events: publisher doesn't execute listeners and doesn't observe their exceptions.
+	 * If ring is full, publisher waits for free slot. Listener, which publishes to the same bus while ring is full, 
+	 * dispatches the event itself instead, ahead of events waiting in the ring.
+	 * Dispatcher waits for events using {@link WaitStrategy#PARK}.
+	 * 
+	 * @param capacity ring buffer slots count, power of two
+	 */
+	public EventBusOptions ringBuffer(int capacity)
+	{
+		return ringBuffer(capacity, WaitStrategy.PARK);
+	}
+
+	/**
+	 * Makes publishing asynchronous, see {@link #ringBuffer(int)}.
+	 * 
+	 * @param capacity ring buffer slots count, power of two
+	 * @param waitStrategy how dispatcher waits for events
+	 */
+	public EventBusOptions ringBuffer(int capacity, WaitStrategy waitStrategy)
+	{
+		Validator.isTrue(capacity > 0 && Integer.bitCount(capacity) == 1, "Ring buffer capacity must be power of two");
+		Validator.notNull(waitStrategy);
+		ringBufferCapacity = capacity;
+		this.waitStrategy = waitStrategy;
+		return this;
+	}
+}
@@ -0,0 +1,236 @@
+package com.earnix.eo.eventbus;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of event bus statistics, returned by {@link EventBus#stats()}.
+ * Statistics are collected since bus creation, if it was created with {@link EventBusOptions#stats()}.
+ */
+public class EventBusStats
+{
+	private final Duration elapsed;
+	private final Map<Class<?>, EventStats> events;
+	private final List<ListenerStats> listeners;
+
+	EventBusStats(Duration elapsed, Map<Class<?>, EventStats> events, List<ListenerStats> listeners)
+	{
+		this.elapsed = elapsed;
+		this.events = Collections.unmodifiableMap(events);
+		this.listeners = Collections.unmodifiableList(listeners);
+	}
+
+	/**
+	 * @return time since statistics collection start
+	 */
+	public Duration getElapsed()
+	{
+		return elapsed;
+	}
+
+	/**
+	 * @return statistics per concrete class of published events
+	 */
+	public Map<Class<?>, EventStats> getEvents()
+	{
+		return events;
+	}
+
+	/**
+	 * @return statistics of active subscriptions
+	 */
+	public List<ListenerStats> getListeners()
+	{
+		return listeners;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "EventBusStats{elapsed=" + elapsed + ", events=" + events.values() + ", listeners=" + listeners + "}";
+	}
+
+	/**
+	 * Publishing statistics of concrete event class.
+	 */
+	public static class EventStats
+	{
+		private final Class<?> eventClass;
+		private final long publishCount;
+		private final long deliveryCount;
+		private final Duration elapsed;
+
+		EventStats(Class<?> eventClass, long publishCount, long deliveryCount, Duration elapsed)
+		{
+			this.eventClass = eventClass;
+			this.publishCount = publishCount;
+			this.deliveryCount = deliveryCount;
+			this.elapsed = elapsed;
+		}
+
+		public Class<?> getEventClass()
+		{
+			return eventClass;
+		}
+
+		/**
+		 * @return count of published events
+		 */
+		public long getPublishCount()
+		{
+			return publishCount;
+		}
+
+		/**
+		 * @return count of subscriptions, which accepted events (conditions passed), summed over all events
+		 */
+		public long getDeliveryCount()
+		{
+			return deliveryCount;
+		}
+
+		/**
+		 * @return average count of subscriptions, which accepted event
+		 */
+		public double getAverageFanOut()
+		{
+			return publishCount == 0 ? 0 : (double) deliveryCount / publishCount;
+		}
+
+		/**
+		 * @return average count of published events per second since statistics collection start
+		 */
+		public double getPublishRate()
+		{
+			final long nanos = elapsed.toNanos();
+			return nanos == 0 ? 0 : publishCount * 1e9 / nanos;
+		}
+
+		@Override
+		public String toString()
+		{
+			return eventClass.getSimpleName() + "{published=" + publishCount + ", fanOut=" + getAverageFanOut() +
+				   ", rate=" + getPublishRate() + "/s}";
+		}
+	}
+
+	/**
+	 * Execution statistics of single subscription. Durations are in nanoseconds and are calculated from sampled 
+	 * executions (see {@link EventBusOptions#stats(int)}), percentiles are approximated with relative error below 12.5%.
+	 */
+	public static class ListenerStats
+	{
+		private final String name;
+		private final Class<?> eventClass;
+		private final long executionCount;
+		private final long[] counts;
+		private final long sampleCount;
+		private final long totalNanos;
+		private final long maxNanos;
+		private final long errorCount;
+
+		ListenerStats(
+				String name, 
+				Class<?> eventClass, 
+				long executionCount, 
+				long[] counts, 
+				long totalNanos, 
+				long maxNanos, 
+				long errorCount)
+		{
+			this.name = name;
+			this.eventClass = eventClass;
+			this.executionCount = executionCount;
+			this.counts = counts;
+			long samples = 0;
+			for (long count : counts)
+			{
+				samples += count;
+			}
+			this.sampleCount = samples;
+			this.totalNanos = totalNanos;
+			this.maxNanos = maxNanos;
+			this.errorCount = errorCount;
+		}
+
+		/**
+		 * @return subscription name, see {@link SubscriptionBuilder#name(String)}
+		 */
+		public String getName()
+		{
+			return name;
+		}
+
+		public Class<?> getEventClass()
+		{
+			return eventClass;
+		}
+
+		/**
+		 * @return count of listener executions
+		 */
+		public long getExecutionCount()
+		{
+			return executionCount;
+		}
+
+		/**
+		 * @return count of executions, which threw exception
+		 */
+		public long getErrorCount()
+		{
+			return errorCount;
+		}
+
+		/**
+		 * @return count of executions, which duration was measured
+		 */
+		public long getSampleCount()
+		{
+			return sampleCount;
+		}
+
+		public long getMeanNanos()
+		{
+			return sampleCount == 0 ? 0 : totalNanos / sampleCount;
+		}
+
+		public long getMaxNanos()
+		{
+			return maxNanos;
+		}
+
+		/**
+		 * @param percentile percentile in range [0, 100], e.g. 99.9
+		 * @return execution duration, which given percentage of executions didn't exceed
+		 */
+		public long getPercentileNanos(double percentile)
+		{
+			Validator.isTrue(percentile >= 0 && percentile <= 100, "Percentile must be in range [0, 100]");
+			if (sampleCount == 0)
+			{
+				return 0;
+			}
+			final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * sampleCount));
+			long seen = 0;
+			for (int bucket = 0; bucket < counts.length; bucket++)
+			{
+				seen += counts[bucket];
+				if (seen >= rank)
+				{
+					return Math.min(LatencyHistogram.highestValue(bucket), maxNanos);
+				}
+			}
+			return maxNanos;
+		}
+
+		@Override
+		public String toString()
+		{
+			return name + "{executions=" + executionCount + ", errors=" + errorCount + ", mean=" + getMeanNanos() +
+				   "ns, p99=" + getPercentileNanos(99) + "ns, max=" + maxNanos + "ns}";
+		}
+	}
+}
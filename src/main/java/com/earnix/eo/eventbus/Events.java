@@ -1,6 +1,11 @@
 package com.earnix.eo.eventbus;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
@@ -15,10 +20,48 @@ import java.util.function.Predicate;
  * </ul>
  * Default threading behavior: listeners will be executed synchronously in the same thread where {@link #publish(Event...)}
  * was called, but if subscription was created in EDT - listeners will be called in EDT, synchronously.
+ * Several threads may publish concurrently, each dispatching against consistent snapshot of subscriptions,
+ * unless bus was created with {@link EventBusOptions#serialized()}.
  */
 public class Events
 {
-	public static final EventBus bus = new EventBusImpl("global");
+	/**
+	 * System property, which enables subscriptions leak detection of global bus with default parameters when set to 
+	 * <code>true</code>, see {@link EventBusOptions#leakDetection()}.
+	 */
+	public static final String LEAK_DETECTION_PROPERTY = "com.earnix.eo.eventbus.leakDetection";
+
+	/**
+	 * System property, which makes publishing to global bus serialized when set to <code>true</code>, 
+	 * see {@link EventBusOptions#serialized()}. Restores behavior of earlier versions, which serialized all publishing.
+	 */
+	public static final String SERIALIZED_PROPERTY = "com.earnix.eo.eventbus.serialized";
+
+	/**
+	 * System property, which enables statistics collection of global bus with default sampling when set to 
+	 * <code>true</code>, see {@link EventBusOptions#stats()}.
+	 */
+	public static final String STATS_PROPERTY = "com.earnix.eo.eventbus.stats";
+
+	public static final EventBus bus = new EventBusImpl("global", globalOptions());
+
+	private static EventBusOptions globalOptions()
+	{
+		final EventBusOptions options = new EventBusOptions();
+		if (Boolean.getBoolean(SERIALIZED_PROPERTY))
+		{
+			options.serialized();
+		}
+		if (Boolean.getBoolean(LEAK_DETECTION_PROPERTY))
+		{
+			options.leakDetection();
+		}
+		if (Boolean.getBoolean(STATS_PROPERTY))
+		{
+			options.stats();
+		}
+		return options;
+	}
 
 	/**
 	 * Crates new event bus for local usage.
@@ -29,6 +72,26 @@ public class Events
 		return new EventBusImpl(name);
 	}
 
+	/**
+	 * Crates new event bus for local usage.
+	 * @param name preferably unique event bus ID
+	 * @param options event bus configuration
+	 */
+	public static EventBus createBus(String name, EventBusOptions options)
+	{
+		return new EventBusImpl(name, options);
+	}
+
+	/**
+	 * Publishes single event to event bus. Doesn't allocate if all matching listeners are synchronous.
+	 *
+	 * @param event event to publish
+	 */
+	public static void publish(Event event)
+	{
+		bus.publish(event);
+	}
+
 	/**
 	 * Publishes event(s) to event bus.
 	 *
@@ -39,6 +102,39 @@ public class Events
 		bus.publish(events);
 	}
 
+	/**
+	 * Publishes events in order, against single snapshot of subscriptions. Subscribers are resolved once per 
+	 * distinct event class. Asynchronous listener receives its events as single task (except ones with bounded queue),
+	 * rather than task per event.
+	 *
+	 * @param events events to publish
+	 */
+	public static void publishAll(Collection<? extends Event> events)
+	{
+		bus.publishAll(events);
+	}
+
+	/**
+	 * Returns builder of events batch, which is published by {@link #publishAll(Collection)}.
+	 */
+	public static EventBatch publishBatch()
+	{
+		return bus.publishBatch();
+	}
+
+	/**
+	 * Registers function, which extracts key of events of given class and its subclasses, allowing keyed subscriptions 
+	 * ({@link SubscriptionBuilder#key(Object)}) to these events. Extractor of the nearest registered supertype is used.
+	 *
+	 * @param eventClass event class
+	 * @param keyExtractor function returning event key, <code>null</code> key matches no keyed subscription
+	 * @param <T> event type
+	 */
+	public static <T extends Event> void registerKeyExtractor(Class<T> eventClass, Function<? super T, ?> keyExtractor)
+	{
+		bus.registerKeyExtractor(eventClass, keyExtractor);
+	}
+
 	// region - Single-Call Subscription -
 
 	/**
@@ -183,4 +279,70 @@ public class Events
 	}
 
 	// endregion 
+
+	// region - Requests -
+
+	/**
+	 * Sends request and returns its first response, see {@link EventBus#request(RequestEvent, Duration)}.
+	 *
+	 * @param request request event
+	 * @param timeout time to wait for response
+	 * @param <R> response type
+	 * @return future of the first response
+	 */
+	public static <R> CompletableFuture<R> request(RequestEvent<R> request, Duration timeout)
+	{
+		return bus.request(request, timeout);
+	}
+
+	/**
+	 * Sends request to all its listeners and collects their responses, 
+	 * see {@link EventBus#requestAll(RequestEvent, Duration)}.
+	 *
+	 * @param request request event
+	 * @param timeout time to wait for responses
+	 * @param <R> response type
+	 * @return future of responses in order they were given
+	 */
+	public static <R> CompletableFuture<List<R>> requestAll(RequestEvent<R> request, Duration timeout)
+	{
+		return bus.requestAll(request, timeout);
+	}
+
+	/**
+	 * Subscribes synchronous responder to requests of given class, see {@link EventBus#subscribeResponder}.
+	 *
+	 * @param requestClass request class
+	 * @param responder function returning response to request, <code>null</code> for no response
+	 * @param <R> response type
+	 * @param <T> request type
+	 * @return {@link ListenerHandle}, which allows responding cancellation
+	 */
+	public static <R, T extends RequestEvent<R>> ListenerHandle subscribeResponder(
+			Class<T> requestClass,
+			Function<? super T, ? extends R> responder
+	)
+	{
+		return bus.subscribeResponder(requestClass, responder);
+	}
+
+	// endregion
+
+	/**
+	 * Returns snapshot of statistics, collected since bus creation.
+	 *
+	 * @throws IllegalStateException if statistics aren't enabled by {@value #STATS_PROPERTY} system property
+	 */
+	public static EventBusStats stats()
+	{
+		return bus.stats();
+	}
+
+	/**
+	 * Returns result of the latest subscriptions leak check, see {@link EventBusOptions#leakDetection}.
+	 */
+	public static LeakReport leakReport()
+	{
+		return bus.leakReport();
+	}
 }
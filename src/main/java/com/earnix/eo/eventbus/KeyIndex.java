@@ -0,0 +1,90 @@
+package com.earnix.eo.eventbus;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Hash index of keyed subscriptions to single event class: event finds its subscriptions by key, extracted from it,
+ * so publishing cost doesn't depend on count of subscriptions with other keys.
+ * <br/>
+ * Subscriptions of each key are copy-on-write array, sorted by descending priority. Arrays are replaced in place,
+ * without copying whole registry snapshot, since there may be lots of keys.
+ */
+class KeyIndex
+{
+	@SuppressWarnings("unchecked")
+	private static final Subscription<Event>[] NO_SUBSCRIPTIONS = new Subscription[0];
+
+	final Class<?> eventClass;
+
+	private final Function<Event, ?> keyExtractor;
+
+	private final ConcurrentHashMap<Object, Subscription<Event>[]> byKey = new ConcurrentHashMap<>();
+
+	private final AtomicInteger size = new AtomicInteger();
+
+	KeyIndex(Class<?> eventClass, Function<Event, ?> keyExtractor)
+	{
+		this.eventClass = eventClass;
+		this.keyExtractor = keyExtractor;
+	}
+
+	/**
+	 * Returns subscriptions to key of given event. Returned array is shared and must not be modified.
+	 */
+	Subscription<Event>[] resolve(Event event)
+	{
+		final Object key = keyExtractor.apply(event);
+		if (key == null)
+		{
+			return NO_SUBSCRIPTIONS;
+		}
+		final Subscription<Event>[] subscriptions = byKey.get(key);
+		return subscriptions == null ? NO_SUBSCRIPTIONS : subscriptions;
+	}
+
+	void add(Subscription<Event> subscription)
+	{
+		byKey.compute(
+				subscription.key,
+				(key, subscriptions) -> SubscriptionRegistry.append(
+						subscriptions == null ? NO_SUBSCRIPTIONS : subscriptions,
+						subscription
+				)
+		);
+		size.incrementAndGet();
+	}
+
+	/**
+	 * @return <code>true</code> if subscription was registered
+	 */
+	boolean remove(Subscription<Event> subscription)
+	{
+		final boolean[] removed = new boolean[1];
+		byKey.computeIfPresent(subscription.key, (key, subscriptions) -> {
+			final Subscription<Event>[] remaining = SubscriptionRegistry.removeFrom(subscriptions, subscription);
+			removed[0] = remaining != subscriptions;
+			return remaining.length == 0 ? null : remaining;
+		});
+		if (removed[0])
+		{
+			size.decrementAndGet();
+		}
+		return removed[0];
+	}
+
+	/**
+	 * @return count of subscriptions to all keys
+	 */
+	int size()
+	{
+		return size.get();
+	}
+
+	boolean contains(Subscription<Event> subscription)
+	{
+		final Subscription<Event>[] subscriptions = byKey.get(subscription.key);
+		return subscriptions != null && SubscriptionRegistry.indexOf(subscriptions, subscription) >= 0;
+	}
+}
@@ -0,0 +1,82 @@
+package com.earnix.eo.eventbus;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations in nanoseconds with log-linear buckets (like HdrHistogram): each power of two
+ * range is split into {@link #SUB_BUCKETS} buckets, so recorded value is known with relative error below 12.5%.
+ * Recording is a few atomic increments, no allocation.
+ */
+class LatencyHistogram
+{
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	/**
+	 * Values below {@link #SUB_BUCKETS} have own buckets, then {@link #SUB_BUCKETS} buckets per power of two
+	 * up to {@link Long#MAX_VALUE}.
+	 */
+	static final int BUCKETS = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final LongAdder totalNanos = new LongAdder();
+	private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+	void record(long nanos)
+	{
+		final long value = Math.max(nanos, 0);
+		counts.incrementAndGet(bucket(value));
+		totalNanos.add(value);
+		maxNanos.accumulate(value);
+	}
+
+	/**
+	 * @return copy of buckets counts, consistent per bucket only
+	 */
+	long[] counts()
+	{
+		final long[] result = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++)
+		{
+			result[i] = counts.get(i);
+		}
+		return result;
+	}
+
+	long totalNanos()
+	{
+		return totalNanos.sum();
+	}
+
+	long maxNanos()
+	{
+		return maxNanos.get();
+	}
+
+	static int bucket(long value)
+	{
+		if (value < SUB_BUCKETS)
+		{
+			return (int) value;
+		}
+		final int exponent = 63 - Long.numberOfLeadingZeros(value);
+		final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * @return the highest value, recorded into given bucket
+	 */
+	static long highestValue(int bucket)
+	{
+		if (bucket < SUB_BUCKETS)
+		{
+			return bucket;
+		}
+		final int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		final long subBucketWidth = 1L << (exponent - SUB_BUCKET_BITS);
+		final long lowestValue = (1L << exponent) + (bucket % SUB_BUCKETS) * subBucketWidth;
+		return lowestValue + (subBucketWidth - 1);
+	}
+}
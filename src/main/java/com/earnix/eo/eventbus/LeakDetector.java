@@ -0,0 +1,287 @@
+package com.earnix.eo.eventbus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Detects subscriptions leaks: event classes, which subscriptions count grows monotonically, and code locations,
+ * which make these subscriptions.
+ * <br/>
+ * Counts are checked periodically during bus maintenance: count of each event class is remembered per check, class is
+ * suspected if count grew on each of last {@link #GROWTH_CHECKS} checks by at least threshold in total.
+ * Subscription sites are tracked by sampling: stack is captured for random 1 of {@link #SAMPLE_INTERVAL} subscriptions
+ * and sampled subscriptions are counted per site while active. Site without active subscriptions is forgotten.
+ */
+class LeakDetector
+{
+	private static final Logger log = LoggerFactory.getLogger(LeakDetector.class);
+
+	static final int GROWTH_CHECKS = 5;
+	static final int SAMPLE_INTERVAL = 16;
+
+	/**
+	 * Maintenance reads clock for random 1 of given count of publishings.
+	 */
+	private static final int CLOCK_READ_MASK = 255;
+	private static final int MAX_SITE_FRAMES = 8;
+	private static final int MAX_REPORTED_SITES = 5;
+	/**
+	 * Classes, which frames are skipped in subscription stack: event bus entry points.
+	 */
+	private static final List<String> ENTRY_CLASSES = Arrays.asList(
+			EventBusImpl.class.getName(),
+			Events.class.getName(),
+			SubscriptionBuilder.class.getName(),
+			LeakDetector.class.getName()
+	);
+
+	private final String busName;
+	private final int growthThreshold;
+	private final long checkIntervalNanos;
+	private final ConcurrentHashMap<Site, Site> sites = new ConcurrentHashMap<>();
+	private volatile long nextCheckNanos;
+	private volatile LeakReport report = new LeakReport(Collections.emptyList());
+	/**
+	 * Subscriptions counts per check, the latest last. Guarded by this.
+	 */
+	private final HashMap<Class<?>, int[]> history = new HashMap<>();
+	/**
+	 * Count, on which suspect was logged last time. Guarded by this.
+	 */
+	private final HashMap<Class<?>, Integer> logged = new HashMap<>();
+
+	LeakDetector(String busName, int growthThreshold, long checkIntervalNanos)
+	{
+		this.busName = busName;
+		this.growthThreshold = growthThreshold;
+		this.checkIntervalNanos = checkIntervalNanos;
+		this.nextCheckNanos = System.nanoTime() + checkIntervalNanos;
+	}
+
+	/**
+	 * Samples subscription site: for random 1 of {@link #SAMPLE_INTERVAL} subscriptions captures stack.
+	 *
+	 * @return site, which must be released on subscription cancellation, <code>null</code> if not sampled
+	 */
+	Site sample(Class<?> eventClass)
+	{
+		if (ThreadLocalRandom.current().nextInt(SAMPLE_INTERVAL) != 0)
+		{
+			return null;
+		}
+		final Site sampled = new Site(this, eventClass, callerStack(new Throwable().getStackTrace()));
+		// counted atomically with mapping, so concurrent release of the last subscription can't remove counted site
+		return sites.compute(sampled, (key, site) -> {
+			final Site counted = site != null ? site : key;
+			counted.active.incrementAndGet();
+			return counted;
+		});
+	}
+
+	private void release(Site site)
+	{
+		sites.computeIfPresent(site, (key, counted) -> counted.active.decrementAndGet() == 0 ? null : counted);
+	}
+
+	/**
+	 * @return <code>true</code> if it's time to check counts, reads clock only occasionally
+	 */
+	boolean isCheckDue()
+	{
+		return (ThreadLocalRandom.current().nextInt() & CLOCK_READ_MASK) == 0 && System.nanoTime() - nextCheckNanos >= 0;
+	}
+
+	/**
+	 * Checks counts, unless other publisher, which also found check due, has already done it.
+	 * 
+	 * @param counts supplier of current subscriptions counts per event class
+	 */
+	synchronized void checkIfDue(Supplier<Map<Class<?>, Integer>> counts)
+	{
+		// repeated check with the same counts would break growth streak
+		if (System.nanoTime() - nextCheckNanos >= 0)
+		{
+			check(counts.get());
+		}
+	}
+
+	/**
+	 * @param counts current subscriptions counts per event class
+	 */
+	synchronized void check(Map<Class<?>, Integer> counts)
+	{
+		nextCheckNanos = System.nanoTime() + checkIntervalNanos;
+		final List<LeakReport.Suspect> suspects = new ArrayList<>();
+		final Iterator<Map.Entry<Class<?>, int[]>> it = history.entrySet().iterator();
+		while (it.hasNext())
+		{
+			if (!counts.containsKey(it.next().getKey()))
+			{
+				it.remove();
+			}
+		}
+		for (Map.Entry<Class<?>, Integer> entry : counts.entrySet())
+		{
+			final int[] checks = history.computeIfAbsent(entry.getKey(), c -> new int[0]);
+			final int[] updated = Arrays.copyOfRange(checks, Math.max(0, checks.length - GROWTH_CHECKS), checks.length + 1);
+			updated[updated.length - 1] = entry.getValue();
+			history.put(entry.getKey(), updated);
+			if (isGrowing(updated))
+			{
+				suspects.add(new LeakReport.Suspect(
+						entry.getKey(),
+						entry.getValue(),
+						updated[updated.length - 1] - updated[0],
+						topSites(entry.getKey())
+				));
+			}
+		}
+		suspects.sort(Comparator.comparingInt(LeakReport.Suspect::getGrowth).reversed());
+		report = new LeakReport(suspects);
+		logged.keySet().retainAll(history.keySet());
+		for (LeakReport.Suspect suspect : suspects)
+		{
+			final Integer loggedCount = logged.get(suspect.getEventClass());
+			// logging again only if leak continues
+			if (loggedCount == null || suspect.getSubscriptionCount() - loggedCount >= growthThreshold)
+			{
+				logged.put(suspect.getEventClass(), suspect.getSubscriptionCount());
+				log.warn("EventBus[{}] Possible subscriptions leak: {}", busName, suspect);
+			}
+		}
+	}
+
+	LeakReport report()
+	{
+		return report;
+	}
+
+	/**
+	 * @return number of sites with active sampled subscriptions
+	 */
+	int siteCount()
+	{
+		return sites.size();
+	}
+
+	private boolean isGrowing(int[] checks)
+	{
+		if (checks.length <= GROWTH_CHECKS)
+		{
+			return false;
+		}
+		for (int i = 1; i < checks.length; i++)
+		{
+			if (checks[i] <= checks[i - 1])
+			{
+				return false;
+			}
+		}
+		return checks[checks.length - 1] - checks[0] >= growthThreshold;
+	}
+
+	private List<LeakReport.Site> topSites(Class<?> eventClass)
+	{
+		final List<LeakReport.Site> result = new ArrayList<>();
+		for (Site site : sites.values())
+		{
+			final int active = site.active.get();
+			if (site.eventClass == eventClass)
+			{
+				result.add(new LeakReport.Site(site.stackTrace, active * SAMPLE_INTERVAL));
+			}
+		}
+		result.sort(Comparator.comparingInt(LeakReport.Site::getEstimatedSubscriptions).reversed());
+		return result.size() > MAX_REPORTED_SITES ? result.subList(0, MAX_REPORTED_SITES) : result;
+	}
+
+	/**
+	 * @return frames of event bus caller, without event bus ones
+	 */
+	private static StackTraceElement[] callerStack(StackTraceElement[] stackTrace)
+	{
+		int first = 0;
+		while (first < stackTrace.length && isEntryFrame(stackTrace[first]))
+		{
+			first++;
+		}
+		return Arrays.copyOfRange(stackTrace, first, Math.min(stackTrace.length, first + MAX_SITE_FRAMES));
+	}
+
+	private static boolean isEntryFrame(StackTraceElement frame)
+	{
+		final String className = frame.getClassName();
+		for (String entryClass : ENTRY_CLASSES)
+		{
+			if (className.equals(entryClass) || className.startsWith(entryClass + "$"))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Code location, subscribing to event class, with count of its active sampled subscriptions.
+	 */
+	static class Site
+	{
+		private final LeakDetector detector;
+		final Class<?> eventClass;
+		final StackTraceElement[] stackTrace;
+		/**
+		 * Is changed only while site is mapped, site is removed when it drops to 0.
+		 */
+		final AtomicInteger active = new AtomicInteger();
+
+		Site(LeakDetector detector, Class<?> eventClass, StackTraceElement[] stackTrace)
+		{
+			this.detector = detector;
+			this.eventClass = eventClass;
+			this.stackTrace = stackTrace;
+		}
+
+		/**
+		 * Marks end of sampled subscription, made at this site.
+		 */
+		void release()
+		{
+			detector.release(this);
+		}
+
+		@Override
+		public boolean equals(Object o)
+		{
+			if (this == o)
+			{
+				return true;
+			}
+			if (!(o instanceof Site))
+			{
+				return false;
+			}
+			final Site site = (Site) o;
+			return eventClass == site.eventClass && Arrays.equals(stackTrace, site.stackTrace);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return Objects.hash(eventClass, Arrays.hashCode(stackTrace));
+		}
+	}
+}
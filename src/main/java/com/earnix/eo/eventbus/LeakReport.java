@@ -0,0 +1,141 @@
+package com.earnix.eo.eventbus;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of the latest subscriptions leak check of event bus, returned by {@link EventBus#leakReport()}.
+ * Event class is suspected of leaking subscriptions, if count of its subscriptions grew on each of last checks
+ * and total growth reached threshold, see {@link EventBusOptions#leakDetection}.
+ */
+public class LeakReport
+{
+	private final List<Suspect> suspects;
+
+	LeakReport(List<Suspect> suspects)
+	{
+		this.suspects = Collections.unmodifiableList(suspects);
+	}
+
+	/**
+	 * @return event classes with growing subscriptions count, the fastest growing first
+	 */
+	public List<Suspect> getSuspects()
+	{
+		return suspects;
+	}
+
+	@Override
+	public String toString()
+	{
+		if (suspects.isEmpty())
+		{
+			return "No subscriptions leaks suspected";
+		}
+		final StringBuilder sb = new StringBuilder("Subscriptions leaks suspected:");
+		for (Suspect suspect : suspects)
+		{
+			sb.append("\n").append(suspect);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Event class, which subscriptions count grows.
+	 */
+	public static class Suspect
+	{
+		private final Class<?> eventClass;
+		private final int subscriptionCount;
+		private final int growth;
+		private final List<Site> sites;
+
+		Suspect(Class<?> eventClass, int subscriptionCount, int growth, List<Site> sites)
+		{
+			this.eventClass = eventClass;
+			this.subscriptionCount = subscriptionCount;
+			this.growth = growth;
+			this.sites = Collections.unmodifiableList(sites);
+		}
+
+		public Class<?> getEventClass()
+		{
+			return eventClass;
+		}
+
+		/**
+		 * @return count of active subscriptions on the latest check
+		 */
+		public int getSubscriptionCount()
+		{
+			return subscriptionCount;
+		}
+
+		/**
+		 * @return subscriptions count growth over checked period
+		 */
+		public int getGrowth()
+		{
+			return growth;
+		}
+
+		/**
+		 * @return code locations with the most active subscriptions to event class, according to sampled
+		 * subscriptions
+		 */
+		public List<Site> getSites()
+		{
+			return sites;
+		}
+
+		@Override
+		public String toString()
+		{
+			final StringBuilder sb = new StringBuilder()
+					.append(subscriptionCount).append(" subscriptions to ").append(eventClass.getName())
+					.append(", grew by ").append(growth);
+			for (Site site : sites)
+			{
+				sb.append("\n\t").append(site);
+			}
+			return sb.toString();
+		}
+	}
+
+	/**
+	 * Code location, which subscribes to event bus.
+	 */
+	public static class Site
+	{
+		private final StackTraceElement[] stackTrace;
+		private final int estimatedSubscriptions;
+
+		Site(StackTraceElement[] stackTrace, int estimatedSubscriptions)
+		{
+			this.stackTrace = stackTrace;
+			this.estimatedSubscriptions = estimatedSubscriptions;
+		}
+
+		/**
+		 * @return stack of subscribing thread, starting from event bus caller
+		 */
+		public StackTraceElement[] getStackTrace()
+		{
+			return stackTrace.clone();
+		}
+
+		/**
+		 * @return estimated count of active subscriptions, made from this location
+		 */
+		public int getEstimatedSubscriptions()
+		{
+			return estimatedSubscriptions;
+		}
+
+		@Override
+		public String toString()
+		{
+			return "~" + estimatedSubscriptions + " subscribed at " + (stackTrace.length > 0 ? stackTrace[0] : "unknown");
+		}
+	}
+}
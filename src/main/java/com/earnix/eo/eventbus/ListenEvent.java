@@ -12,4 +12,8 @@ import java.lang.annotation.Target;
 @Target(ElementType.METHOD)
 public @interface ListenEvent
 {
+	/**
+	 * Listeners with higher priority receive event first, see {@link SubscriptionBuilder#priority(int)}.
+	 */
+	int priority() default 0;
 }
\ No newline at end of file
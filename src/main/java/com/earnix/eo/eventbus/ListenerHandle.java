@@ -6,7 +6,8 @@ package com.earnix.eo.eventbus;
 public interface ListenerHandle
 {
 	/**
-	 * Cancels subscription(s)
+	 * Cancels subscription(s). Events, which are pending for asynchronous execution of listener(s), are dropped; 
+	 * listener execution, which is in progress, is completed.
 	 */
 	void cancel();
 
@@ -15,4 +16,13 @@ public interface ListenerHandle
 	 * @return <code>true</code> if subscription(s) is/are still active
 	 */
 	boolean isActive();
-}
\ No newline at end of file
+
+	/**
+	 * Returns number of events, which are pending for asynchronous execution of listener(s).
+	 * @return pending events count, 0 for synchronous subscription(s)
+	 */
+	default int queueSize()
+	{
+		return 0;
+	}
+}
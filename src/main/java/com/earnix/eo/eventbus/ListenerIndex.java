@@ -0,0 +1,43 @@
+package com.earnix.eo.eventbus;
+
+/**
+ * Reflection-free registration of {@link ListenEvent}-annotated methods of one class. Is generated at compile time by
+ * {@link com.earnix.eo.eventbus.processor.ListenEventProcessor} and is used by {@link EventBus#subscribeMethods} 
+ * when present. Not intended to be implemented manually.
+ * <br/>
+ * Index of class <code>com.acme.Listener</code> is named <code>com.acme.Listener_ListenerIndex</code>.
+ */
+public interface ListenerIndex
+{
+	/**
+	 * Suffix, added to binary name of listener class to get its index class name.
+	 */
+	String SUFFIX = "_ListenerIndex";
+
+	/**
+	 * Registers all listening methods of indexed class, including inherited ones.
+	 */
+	void register(Registry registry);
+
+	/**
+	 * Receives listeners of indexed class: one per event parameter of each listening method.
+	 */
+	interface Registry
+	{
+		<T extends Event> void listener(Class<T> eventClass, boolean isStatic, int priority, Invoker<T> invoker);
+	}
+
+	/**
+	 * Calls listening method directly.
+	 */
+	@FunctionalInterface
+	interface Invoker<T extends Event>
+	{
+		/**
+		 * @param target object to invoke method on, <code>null</code> for static methods
+		 * @param event event to pass as method parameter
+		 * @throws Exception checked exception declared by listening method, is passed to subscription error handling
+		 */
+		void invoke(Object target, T event) throws Exception;
+	}
+}
@@ -0,0 +1,99 @@
+package com.earnix.eo.eventbus;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Consumer;
+
+/**
+ * Resolved {@link ListenEvent}-annotated method parameter: one listener per event parameter of the method.
+ */
+class ListenerMethod
+{
+	final Class<Event> eventClass;
+	final boolean isStatic;
+	/**
+	 * {@link ListenEvent#priority()}
+	 */
+	final int priority;
+	private final MethodConsumers.Factory consumerFactory;
+
+	ListenerMethod(Class<Event> eventClass, boolean isStatic, int priority, MethodConsumers.Factory consumerFactory)
+	{
+		this.eventClass = eventClass;
+		this.isStatic = isStatic;
+		this.priority = priority;
+		this.consumerFactory = consumerFactory;
+	}
+
+	/**
+	 * Creates listener, calling method through {@link MethodConsumers}.
+	 */
+	@SuppressWarnings("unchecked")
+	static ListenerMethod reflective(Method method, int argIndex)
+	{
+		final Class<?> parameterType = method.getParameterTypes()[argIndex];
+		Validator.isTrue(
+				Event.class.isAssignableFrom(parameterType), 
+				"Event listening method parameter class must implement Event marker"
+		);
+		return new ListenerMethod(
+				(Class<Event>) parameterType, 
+				Modifier.isStatic(method.getModifiers()), 
+				method.getAnnotation(ListenEvent.class).priority(),
+				MethodConsumers.factory(method, argIndex)
+		);
+	}
+
+	/**
+	 * Creates listener, calling method through generated {@link ListenerIndex.Invoker}.
+	 */
+	@SuppressWarnings("unchecked")
+	static <T extends Event> ListenerMethod indexed(
+			Class<T> eventClass, 
+			boolean isStatic, 
+			int priority, 
+			ListenerIndex.Invoker<T> invoker)
+	{
+		Validator.isTrue(
+				Event.class.isAssignableFrom(eventClass), 
+				"Event listening method parameter class must implement Event marker"
+		);
+		final ListenerIndex.Invoker<Event> eventInvoker = (ListenerIndex.Invoker<Event>) invoker;
+		final MethodConsumers.Factory factory;
+		if (isStatic)
+		{
+			final Consumer<Event> consumer = event -> invoke(eventInvoker, null, event);
+			factory = target -> consumer;
+		}
+		else
+		{
+			factory = target -> event -> invoke(eventInvoker, target, event);
+		}
+		return new ListenerMethod((Class<Event>) eventClass, isStatic, priority, factory);
+	}
+
+	/**
+	 * Checked exception of listening method is rethrown unwrapped, as by consumers of {@link MethodConsumers}, 
+	 * so error handlers match it regardless of how method is bound.
+	 */
+	private static void invoke(ListenerIndex.Invoker<Event> invoker, Object target, Event event)
+	{
+		try
+		{
+			invoker.invoke(target, event);
+		}
+		catch (Exception e)
+		{
+			MethodConsumers.<RuntimeException>rethrow(e);
+		}
+	}
+
+	/**
+	 * @param target object to invoke method on, ignored for static methods
+	 */
+	Consumer<Event> createConsumer(@Nullable Object target)
+	{
+		Validator.isTrue(isStatic || target != null, "Target object is required for non-static method");
+		return consumerFactory.create(target);
+	}
+}
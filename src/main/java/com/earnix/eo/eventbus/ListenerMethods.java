@@ -0,0 +1,102 @@
+package com.earnix.eo.eventbus;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per-class cache of {@link ListenEvent}-annotated methods, resolved with their consumer factories. 
+ * Repeated subscription of the same class doesn't involve reflection.
+ * <br/>
+ * Generated {@link ListenerIndex} of the class is used if present, otherwise methods are looked up with reflection.
+ */
+class ListenerMethods
+{
+	private static final Logger log = LoggerFactory.getLogger(ListenerMethods.class);
+
+	private static final ClassValue<List<ListenerMethod>> cache = new ClassValue<List<ListenerMethod>>()
+	{
+		@Override
+		protected List<ListenerMethod> computeValue(Class<?> type)
+		{
+			return resolve(type);
+		}
+	};
+
+	/**
+	 * @return listener methods (static and non-static) of given class, including inherited ones
+	 */
+	static List<ListenerMethod> of(Class<?> cls)
+	{
+		Validator.notNull(cls, "The class must not be null");
+		return cache.get(cls);
+	}
+
+	private static List<ListenerMethod> resolve(Class<?> cls)
+	{
+		final List<ListenerMethod> result = new ArrayList<>();
+		final ListenerIndex index = loadIndex(cls);
+		if (index != null)
+		{
+			index.register(new ListenerIndex.Registry()
+			{
+				@Override
+				public <T extends Event> void listener(
+						Class<T> eventClass, 
+						boolean isStatic, 
+						int priority, 
+						ListenerIndex.Invoker<T> invoker)
+				{
+					result.add(ListenerMethod.indexed(eventClass, isStatic, priority, invoker));
+				}
+			});
+		}
+		else
+		{
+			for (final Method method : cls.getMethods())
+			{
+				if (method.getAnnotation(ListenEvent.class) != null)
+				{
+					for (int i = 0; i < method.getParameterCount(); i++)
+					{
+						result.add(ListenerMethod.reflective(method, i));
+					}
+				}
+			}
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * @return generated index of given class or <code>null</code> if it was not generated
+	 */
+	static ListenerIndex loadIndex(Class<?> cls)
+	{
+		final Class<?> indexClass;
+		try
+		{
+			indexClass = Class.forName(cls.getName() + ListenerIndex.SUFFIX, true, cls.getClassLoader());
+		}
+		catch (ClassNotFoundException | LinkageError e)
+		{
+			return null;
+		}
+		if (!ListenerIndex.class.isAssignableFrom(indexClass))
+		{
+			return null;
+		}
+		try
+		{
+			return (ListenerIndex) indexClass.getConstructor().newInstance();
+		}
+		catch (ReflectiveOperationException e)
+		{
+			log.warn("Failed to instantiate listener index {}, falling back to reflection", indexClass.getName(), e);
+			return null;
+		}
+	}
+}
@@ -0,0 +1,238 @@
+package com.earnix.eo.eventbus;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Detects listener executions, which run longer than their limit: subscription timeout or bus slow listener threshold.
+ * <br/>
+ * Executing thread only publishes what it executes into its own slot, without reading clock or locking.
+ * Watchdog thread checks all slots every tick and measures execution time from the tick it first saw the execution,
+ * so overrun is detected at most two ticks late. Tick is quarter of the shortest watched limit.
+ * <br/>
+ * Nested execution (listener publishing event to synchronous listener) is covered by the outer one.
+ */
+class ListenerWatchdog
+{
+	private static final Logger log = LoggerFactory.getLogger(ListenerWatchdog.class);
+
+	private static final long MIN_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+	private static final long MAX_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<Slot, Subscription> SUBSCRIPTION =
+			AtomicReferenceFieldUpdater.newUpdater(Slot.class, Subscription.class, "subscription");
+
+	private final String threadName;
+	private final Consumer<SlowListenerReport> handler;
+	private final Set<Slot> slots = ConcurrentHashMap.newKeySet();
+	private final ThreadLocal<Slot> currentSlot = ThreadLocal.withInitial(this::newSlot);
+	private volatile long tickNanos = MAX_TICK_NANOS;
+	private volatile boolean closed;
+	/**
+	 * Guarded by this.
+	 */
+	private Thread thread;
+
+	ListenerWatchdog(String threadName, Consumer<SlowListenerReport> handler)
+	{
+		this.threadName = threadName;
+		this.handler = handler;
+	}
+
+	/**
+	 * Makes ticks frequent enough for given limit.
+	 */
+	synchronized void watch(long limitNanos)
+	{
+		tickNanos = Math.min(tickNanos, Math.max(limitNanos / 4, MIN_TICK_NANOS));
+		if (thread == null && !closed)
+		{
+			thread = new Thread(this::run, threadName);
+			thread.setDaemon(true);
+			thread.start();
+		}
+	}
+
+	/**
+	 * Marks start of listener execution in current thread.
+	 *
+	 * @return slot, which must be passed to {@link #exit}, <code>null</code> if execution is nested
+	 */
+	Slot enter(Subscription<?> subscription, Event event)
+	{
+		final Slot slot = currentSlot.get();
+		if (slot.subscription != null)
+		{
+			return null;
+		}
+		slot.event = event;
+		slot.sequence++;
+		// ordered write: watchdog, seeing subscription, sees event and sequence too
+		SUBSCRIPTION.lazySet(slot, subscription);
+		return slot;
+	}
+
+	void exit(Slot slot, Subscription<?> subscription)
+	{
+		if (subscription.interruptOnOverrun)
+		{
+			synchronized (slot)
+			{
+				slot.subscription = null;
+				if (slot.interrupted)
+				{
+					// interruption was aimed at listener only, thread may be publisher or shared pool one.
+					// Interrupt, sent by someone else after listener consumed watchdog's one, can't be told apart
+					Thread.interrupted();
+					slot.interrupted = false;
+				}
+			}
+		}
+		else
+		{
+			SUBSCRIPTION.lazySet(slot, null);
+		}
+		slot.event = null;
+	}
+
+	void close()
+	{
+		closed = true;
+		synchronized (this)
+		{
+			if (thread != null)
+			{
+				LockSupport.unpark(thread);
+			}
+		}
+	}
+
+	private Slot newSlot()
+	{
+		final Slot slot = new Slot(Thread.currentThread());
+		slots.add(slot);
+		return slot;
+	}
+
+	private void run()
+	{
+		while (!closed)
+		{
+			LockSupport.parkNanos(tickNanos);
+			final long now = System.nanoTime();
+			final Iterator<Slot> it = slots.iterator();
+			while (it.hasNext())
+			{
+				final Slot slot = it.next();
+				if (slot.subscription == null && !slot.thread.isAlive())
+				{
+					it.remove();
+				}
+				else
+				{
+					check(slot, now);
+				}
+			}
+		}
+	}
+
+	private void check(Slot slot, long now)
+	{
+		final Subscription<?> subscription = slot.subscription;
+		if (subscription == null)
+		{
+			return;
+		}
+		final long sequence = slot.sequence;
+		if (sequence != slot.observedSequence)
+		{
+			// execution started after previous tick
+			slot.observedSequence = sequence;
+			slot.observedNanos = now;
+			return;
+		}
+		final long elapsedNanos = now - slot.observedNanos;
+		if (slot.reportedSequence == sequence || elapsedNanos < subscription.overrunNanos)
+		{
+			return;
+		}
+		final Event event = slot.event;
+		final StackTraceElement[] stackTrace = slot.thread.getStackTrace();
+		if (slot.subscription != subscription || slot.sequence != sequence)
+		{
+			// finished while stack was sampled
+			return;
+		}
+		slot.reportedSequence = sequence;
+		final boolean interrupted = subscription.interruptOnOverrun && interrupt(slot, subscription, sequence);
+		final SlowListenerReport report = new SlowListenerReport(
+				subscription.name,
+				event,
+				slot.thread,
+				Duration.ofNanos(elapsedNanos),
+				Duration.ofNanos(subscription.overrunNanos),
+				subscription.overrunIsTimeout,
+				interrupted,
+				stackTrace
+		);
+		try
+		{
+			handler.accept(report);
+		}
+		catch (RuntimeException e)
+		{
+			log.error("Slow listener handler failed", e);
+		}
+	}
+
+	private static boolean interrupt(Slot slot, Subscription<?> subscription, long sequence)
+	{
+		synchronized (slot)
+		{
+			if (slot.subscription != subscription || slot.sequence != sequence)
+			{
+				return false;
+			}
+			// interrupt status, which is already set, belongs to someone else, so it must survive listener exit
+			slot.interrupted = !slot.thread.isInterrupted();
+			slot.thread.interrupt();
+			return true;
+		}
+	}
+
+	/**
+	 * Listener execution of single thread. Fields, except observation ones, are written by executing thread only.
+	 */
+	static class Slot
+	{
+		final Thread thread;
+		volatile Subscription<?> subscription;
+		Event event;
+		long sequence;
+		/**
+		 * Set by watchdog if it set interrupt status of the thread, guarded by slot.
+		 */
+		boolean interrupted;
+		/**
+		 * Observation state, accessed by watchdog thread only.
+		 */
+		long observedSequence;
+		long observedNanos;
+		long reportedSequence;
+
+		Slot(Thread thread)
+		{
+			this.thread = thread;
+		}
+	}
+}
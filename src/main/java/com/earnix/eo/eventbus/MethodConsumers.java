@@ -0,0 +1,203 @@
+package com.earnix.eo.eventbus;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Consumer;
+
+/**
+ * Creates factories of consumers, which invoke {@link ListenEvent}-annotated methods without reflection.
+ * Factory is created once per method and then only binds target object.
+ * <br/>
+ * Single-parameter methods of classes, visible from event bus class loader, are bound with {@link LambdaMetafactory},
+ * so invocation is as cheap as lambda listener call. Other methods are invoked through adapted {@link MethodHandle}.
+ */
+class MethodConsumers
+{
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private static final MethodType CONSUMER_ERASED_TYPE = MethodType.methodType(void.class, Object.class);
+
+	/**
+	 * Creates consumers for given target object. Static methods consumers ignore target and are shared.
+	 */
+	interface Factory
+	{
+		Consumer<Event> create(Object target);
+	}
+
+	/**
+	 * @param method listening method
+	 * @param argIndex index of event parameter, other parameters will receive <code>null</code>
+	 */
+	static Factory factory(Method method, int argIndex)
+	{
+		Validator.notNull(method);
+		if (method.getParameterCount() == 1 && isLambdaCompatible(method))
+		{
+			try
+			{
+				return lambdaFactory(method);
+			}
+			catch (Throwable ignored)
+			{
+				// falling back to method handle
+			}
+		}
+		return methodHandleFactory(method, argIndex);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Factory lambdaFactory(Method method) throws Throwable
+	{
+		final MethodHandle handle = LOOKUP.unreflect(method);
+		final MethodType instantiatedType = MethodType.methodType(void.class, method.getParameterTypes()[0]);
+		if (Modifier.isStatic(method.getModifiers()))
+		{
+			final CallSite callSite = LambdaMetafactory.metafactory(
+					LOOKUP,
+					"accept",
+					MethodType.methodType(Consumer.class),
+					CONSUMER_ERASED_TYPE,
+					handle,
+					instantiatedType
+			);
+			final Consumer<Event> consumer = (Consumer<Event>) callSite.getTarget().invoke();
+			return target -> consumer;
+		}
+		else
+		{
+			final CallSite callSite = LambdaMetafactory.metafactory(
+					LOOKUP,
+					"accept",
+					MethodType.methodType(Consumer.class, method.getDeclaringClass()),
+					CONSUMER_ERASED_TYPE,
+					handle,
+					instantiatedType
+			);
+			final MethodHandle consumerFactory = callSite.getTarget();
+			return target -> {
+				try
+				{
+					return (Consumer<Event>) consumerFactory.invoke(target);
+				}
+				catch (Throwable t)
+				{
+					throw new IllegalStateException("Failed to bind event listening method " + method, t);
+				}
+			};
+		}
+	}
+
+	private static Factory methodHandleFactory(Method method, int argIndex)
+	{
+		final boolean isStatic = Modifier.isStatic(method.getModifiers());
+		// receiver is the first parameter of instance method handle
+		final int offset = isStatic ? 0 : 1;
+		MethodHandle handle = methodHandle(method);
+		// other parameters will receive null
+		for (int i = method.getParameterCount() - 1; i >= 0; i--)
+		{
+			if (i != argIndex)
+			{
+				handle = MethodHandles.insertArguments(handle, i + offset, (Object) null);
+			}
+		}
+		if (isStatic)
+		{
+			final Consumer<Event> consumer = new MethodHandleConsumer(
+					handle.asType(MethodType.methodType(void.class, Event.class))
+			);
+			return target -> consumer;
+		}
+		else
+		{
+			final MethodHandle unbound = handle.asType(
+					MethodType.methodType(void.class, method.getDeclaringClass(), Event.class)
+			);
+			return target -> new MethodHandleConsumer(unbound.bindTo(target));
+		}
+	}
+
+	private static MethodHandle methodHandle(Method method)
+	{
+		MethodHandle handle;
+		try
+		{
+			handle = LOOKUP.unreflect(method);
+		}
+		catch (IllegalAccessException e)
+		{
+			// public method of non-public class
+			try
+			{
+				method.setAccessible(true);
+				handle = LOOKUP.unreflect(method);
+			}
+			catch (IllegalAccessException | RuntimeException inaccessible)
+			{
+				throw new IllegalArgumentException("Event listening method is not accessible: " + method, inaccessible);
+			}
+		}
+		return handle;
+	}
+
+	/**
+	 * Lambda class is defined in event bus class loader, so it must see method's classes.
+	 * Otherwise it would fail on first invocation rather than on creation.
+	 */
+	private static boolean isLambdaCompatible(Method method)
+	{
+		final Class<?> declaringClass = method.getDeclaringClass();
+		return !declaringClass.isInterface() &&
+			   Modifier.isPublic(declaringClass.getModifiers()) &&
+			   isVisible(declaringClass) &&
+			   isVisible(method.getParameterTypes()[0]);
+	}
+
+	private static boolean isVisible(Class<?> cls)
+	{
+		try
+		{
+			return Class.forName(cls.getName(), false, MethodConsumers.class.getClassLoader()) == cls;
+		}
+		catch (ClassNotFoundException | LinkageError e)
+		{
+			return false;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	static <E extends Throwable> void rethrow(Throwable t) throws E
+	{
+		throw (E) t;
+	}
+
+	private static class MethodHandleConsumer implements Consumer<Event>
+	{
+		private final MethodHandle handle;
+
+		MethodHandleConsumer(MethodHandle handle)
+		{
+			this.handle = handle;
+		}
+
+		@Override
+		public void accept(Event event)
+		{
+			try
+			{
+				handle.invokeExact(event);
+			}
+			catch (Throwable t)
+			{
+				// checked exception is rethrown unwrapped, as by lambda-bound method, to reach subscription error handlers
+				MethodConsumers.<RuntimeException>rethrow(t);
+			}
+		}
+	}
+}
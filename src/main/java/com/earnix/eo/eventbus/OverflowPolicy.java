@@ -0,0 +1,33 @@
+package com.earnix.eo.eventbus;
+
+/**
+ * Defines what happens with event, published to asynchronous subscription, whose queue is full.
+ * See {@link SubscriptionBuilder#queueCapacity(int, OverflowPolicy)}.
+ */
+public enum OverflowPolicy
+{
+	/**
+	 * Publisher waits until listener takes an event from the queue. Events, published by the listener to its own 
+	 * subscription, are enqueued without waiting. Not allowed for EDT listeners, since EDT publisher would wait 
+	 * for itself; async listeners, which publish to blocking subscriptions of the same bus, may exhaust its pool.
+	 * Not allowed on {@link EventBusOptions#serialized()} bus either: publisher would wait holding bus lock, so 
+	 * listener, publishing to the same bus, could never take next event.
+	 */
+	BLOCK,
+
+	/**
+	 * Published event is dropped.
+	 */
+	DROP_NEWEST,
+
+	/**
+	 * The oldest pending event is dropped to free place for published one.
+	 */
+	DROP_OLDEST,
+
+	/**
+	 * Published event is dropped and {@link java.util.concurrent.RejectedExecutionException} is passed to subscription
+	 * error handler (see {@link SubscriptionBuilder#onError(Class, java.util.function.Consumer)}).
+	 */
+	FAIL
+}
@@ -0,0 +1,50 @@
+package com.earnix.eo.eventbus;
+
+/**
+ * Event, which expects response: sent by {@link EventBus#request} or {@link EventBus#requestAll} and answered by its 
+ * listeners with {@link #respond(Object)}, or by responders ({@link EventBus#subscribeResponder}). Response completes 
+ * requester's future directly, without reply event and temporary subscription.
+ * <br/>
+ * Listener must respond before it returns: request without response is finished once dispatching is done and all 
+ * listeners, which received it, returned. Asynchronous delivery, which is dropped before execution, never returns,
+ * so such request is finished by its timeout. Request event may be sent once; executions of listeners, which
+ * receive it published as usual event, aren't awaited by request.
+ *
+ * @param <R> response type
+ */
+public abstract class RequestEvent<R> implements Event
+{
+	/**
+	 * <code>null</code> if event wasn't sent as request, e.g. published as usual event.
+	 */
+	private volatile ResponseCollector<R> collector;
+
+	/**
+	 * Responds to request.
+	 *
+	 * @param response response, not <code>null</code>
+	 * @return <code>true</code> if response was accepted, <code>false</code> if request is already answered 
+	 * (by other listener or timeout) or event wasn't sent as request
+	 */
+	public boolean respond(R response)
+	{
+		Validator.notNull(response);
+		final ResponseCollector<R> collector = this.collector;
+		return collector != null && collector.respond(response);
+	}
+
+	/**
+	 * @return <code>true</code> if requester's future is completed: by the first response, all responses or timeout
+	 */
+	public boolean isAnswered()
+	{
+		final ResponseCollector<R> collector = this.collector;
+		return collector != null && collector.isAnswered();
+	}
+
+	void attach(ResponseCollector<R> collector)
+	{
+		Validator.isTrue(this.collector == null, "Request event was already sent");
+		this.collector = collector;
+	}
+}
@@ -0,0 +1,166 @@
+package com.earnix.eo.eventbus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects responses to single request and completes requester's future: with the first response or with list of 
+ * all responses.
+ * <br/>
+ * Counts pending listener executions, dispatching itself is counted as one: request is finished when counter drops
+ * to zero, so asynchronous listeners are awaited without knowing in advance how many of them received request.
+ * Timeout is served by shared {@link TimerWheel}.
+ */
+class ResponseCollector<R>
+{
+	private final Class<?> requestClass;
+	/**
+	 * <code>null</code> if all responses are collected.
+	 */
+	private final CompletableFuture<R> first;
+	/**
+	 * <code>null</code> if the first response is awaited.
+	 */
+	private final CompletableFuture<List<R>> all;
+	private final AtomicInteger pending = new AtomicInteger(1);
+	/**
+	 * Guarded by this.
+	 */
+	private final List<R> responses;
+	/**
+	 * Guarded by this.
+	 */
+	private boolean finished;
+	private Duration timeoutDuration;
+	private volatile TimerWheel.Timeout timeout;
+
+	private ResponseCollector(Class<?> requestClass, CompletableFuture<R> first, CompletableFuture<List<R>> all)
+	{
+		this.requestClass = requestClass;
+		this.first = first;
+		this.all = all;
+		this.responses = all != null ? new ArrayList<>() : null;
+	}
+
+	static <R> ResponseCollector<R> first(Class<?> requestClass)
+	{
+		return new ResponseCollector<>(requestClass, new CompletableFuture<>(), null);
+	}
+
+	static <R> ResponseCollector<R> all(Class<?> requestClass)
+	{
+		return new ResponseCollector<>(requestClass, null, new CompletableFuture<>());
+	}
+
+	CompletableFuture<R> firstResponse()
+	{
+		return first;
+	}
+
+	CompletableFuture<List<R>> allResponses()
+	{
+		return all;
+	}
+
+	/**
+	 * Finishes request on timeout: the first response is failed with {@link TimeoutException}, responses collected
+	 * so far are completed as all ones. Must be called before dispatching.
+	 */
+	void timeoutAfter(Duration duration)
+	{
+		timeoutDuration = duration;
+		timeout = TimerWheel.shared().schedule(this::expire, duration.toNanos());
+	}
+
+	boolean respond(R response)
+	{
+		if (first != null)
+		{
+			if (!first.complete(response))
+			{
+				return false;
+			}
+			cancelTimeout();
+			return true;
+		}
+		synchronized (this)
+		{
+			if (finished)
+			{
+				return false;
+			}
+			responses.add(response);
+			return true;
+		}
+	}
+
+	boolean isAnswered()
+	{
+		return first != null ? first.isDone() : all.isDone();
+	}
+
+	/**
+	 * Counts listener execution, which will call {@link #returned()}.
+	 */
+	void expect()
+	{
+		pending.incrementAndGet();
+	}
+
+	/**
+	 * Marks end of expected listener execution or of dispatching.
+	 */
+	void returned()
+	{
+		if (pending.decrementAndGet() == 0)
+		{
+			finish(false);
+		}
+	}
+
+	private void expire()
+	{
+		finish(true);
+	}
+
+	private void finish(boolean timedOut)
+	{
+		cancelTimeout();
+		if (first != null)
+		{
+			if (!first.isDone())
+			{
+				first.completeExceptionally(timedOut ?
+						new TimeoutException("No response to " + requestClass.getName() + " in " + timeoutDuration.toMillis() + "ms") :
+						new NoSuchElementException("No response to " + requestClass.getName()));
+			}
+			return;
+		}
+		final List<R> collected;
+		synchronized (this)
+		{
+			if (finished)
+			{
+				return;
+			}
+			finished = true;
+			collected = new ArrayList<>(responses);
+		}
+		// completing outside of lock, dependent actions are executed by completing thread
+		all.complete(collected);
+	}
+
+	private void cancelTimeout()
+	{
+		final TimerWheel.Timeout timeout = this.timeout;
+		if (timeout != null)
+		{
+			timeout.cancel();
+		}
+	}
+}
@@ -0,0 +1,215 @@
+package com.earnix.eo.eventbus;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Preallocated multi-producer, single-consumer ring of events, drained by dedicated dispatcher thread.
+ * <br/>
+ * Publisher claims a sequence with single atomic increment and stores event into its slot, so publishing doesn't 
+ * lock nor allocate. Dispatcher takes events in sequence order and passes them to dispatching function, waiting for 
+ * them using configured {@link WaitStrategy}; parked dispatcher is woken up by publisher, which sees it idle after 
+ * storing event. If ring is full, publisher waits for free slot with 
+ * {@link WaitStrategy#PARK}, so blocked publishers don't compete with dispatcher for CPU. Dispatcher thread itself
+ * (listener, publishing to the same bus) never waits for free slot, since only it releases slots.
+ */
+class RingBuffer
+{
+	private static final Logger log = LoggerFactory.getLogger(RingBuffer.class);
+
+	/**
+	 * Is added to claim sequence on close, so further claims fail without additional checks.
+	 */
+	private static final long CLOSED = 1L << 62;
+
+	private final AtomicReferenceArray<Event> slots;
+	private final int mask;
+	private final WaitStrategy waitStrategy;
+	/**
+	 * <code>true</code> if dispatcher may park until publisher wakes it up.
+	 */
+	private final boolean blocking;
+	private final Consumer<Event> dispatcher;
+	private final Thread thread;
+	private final AtomicLong claimed = new AtomicLong();
+	/**
+	 * Sequence of the next event, which will be taken by dispatcher.
+	 */
+	private final AtomicLong consumed = new AtomicLong();
+	/**
+	 * Number of sequences claimed before close, -1 if not closed.
+	 */
+	private volatile long closedAt = -1;
+	/**
+	 * Set by dispatcher before the last check of the awaited slot and parking, so that either dispatcher sees stored 
+	 * event or publisher sees parked dispatcher.
+	 */
+	private volatile boolean parked;
+
+	/**
+	 * @param capacity slots count, power of two
+	 * @param dispatcher function, which delivers event to subscriptions, executed on dispatcher thread
+	 */
+	RingBuffer(int capacity, WaitStrategy waitStrategy, Consumer<Event> dispatcher, String threadName)
+	{
+		Validator.isTrue(capacity > 0 && Integer.bitCount(capacity) == 1, "Ring buffer capacity must be power of two");
+		Validator.notNull(waitStrategy);
+		Validator.notNull(dispatcher);
+		this.slots = new AtomicReferenceArray<>(capacity);
+		this.mask = capacity - 1;
+		this.waitStrategy = waitStrategy;
+		this.blocking = waitStrategy == WaitStrategy.PARK;
+		this.dispatcher = dispatcher;
+		this.thread = new Thread(this::drain, threadName);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Publishes event into the ring, waits for free slot if ring is full.
+	 * 
+	 * @return <code>false</code> if ring is closed, or if it is full and event is offered by dispatcher thread: 
+	 * event isn't published and should be dispatched by caller
+	 */
+	boolean offer(Event event)
+	{
+		final long sequence;
+		if (Thread.currentThread() == thread)
+		{
+			sequence = claimFromDispatcher();
+			if (sequence < 0)
+			{
+				return false;
+			}
+		}
+		else
+		{
+			sequence = claimed.getAndIncrement();
+			if ((sequence & CLOSED) != 0)
+			{
+				return false;
+			}
+			int attempt = 0;
+			while (sequence - slots.length() >= consumed.get())
+			{
+				WaitStrategy.PARK.idle(attempt);
+				attempt = WaitStrategy.nextAttempt(attempt);
+			}
+		}
+		if (blocking)
+		{
+			// volatile store, so it isn't reordered with following check of parked dispatcher
+			slots.set((int) sequence & mask, event);
+			if (parked)
+			{
+				LockSupport.unpark(thread);
+			}
+		}
+		else
+		{
+			slots.lazySet((int) sequence & mask, event);
+		}
+		return true;
+	}
+
+	/**
+	 * Claims a sequence only if its slot is already free: <code>consumed</code> doesn't move while dispatcher is 
+	 * publishing, so waiting for it would never end.
+	 * 
+	 * @return claimed sequence or -1 if ring is closed or full
+	 */
+	private long claimFromDispatcher()
+	{
+		while (true)
+		{
+			final long sequence = claimed.get();
+			if ((sequence & CLOSED) != 0 || sequence - slots.length() >= consumed.get())
+			{
+				return -1;
+			}
+			if (claimed.compareAndSet(sequence, sequence + 1))
+			{
+				return sequence;
+			}
+		}
+	}
+
+	/**
+	 * Stops accepting events. Events, published before, are dispatched, then dispatcher thread exits.
+	 */
+	void close()
+	{
+		if (closedAt < 0)
+		{
+			synchronized (this)
+			{
+				if (closedAt < 0)
+				{
+					closedAt = claimed.getAndAdd(CLOSED);
+				}
+			}
+			LockSupport.unpark(thread);
+		}
+	}
+
+	private void drain()
+	{
+		long sequence = 0;
+		int attempt = 0;
+		while (true)
+		{
+			final int index = (int) sequence & mask;
+			final Event event = slots.get(index);
+			if (event == null)
+			{
+				final long end = closedAt;
+				if (end >= 0 && sequence >= end)
+				{
+					return;
+				}
+				if (waitStrategy.blocks(attempt))
+				{
+					park(index);
+				}
+				else
+				{
+					waitStrategy.idle(attempt);
+					attempt = WaitStrategy.nextAttempt(attempt);
+				}
+				continue;
+			}
+			attempt = 0;
+			// slot is released before dispatching, so publishers wait less
+			slots.lazySet(index, null);
+			consumed.lazySet(++sequence);
+			try
+			{
+				dispatcher.accept(event);
+			}
+			catch (Throwable e)
+			{
+				// dispatcher is the only consumer: if it died, publishers would wait for free slots forever
+				log.error("Failed to dispatch event " + event.getClass().getName(), e);
+			}
+		}
+	}
+
+	/**
+	 * Parks dispatcher until event is stored into awaited slot or ring is closed. Spurious wake up is fine, since 
+	 * caller checks the slot again.
+	 */
+	private void park(int index)
+	{
+		parked = true;
+		if (slots.get(index) == null && closedAt < 0)
+		{
+			LockSupport.park(this);
+		}
+		parked = false;
+	}
+}
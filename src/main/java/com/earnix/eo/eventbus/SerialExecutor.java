@@ -0,0 +1,321 @@
+package com.earnix.eo.eventbus;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Executes tasks one at a time, in submission order, on underlying (usually shared) executor. 
+ * Provides FIFO guarantee of single thread executor without owning a thread: at most one drain task of this executor
+ * is submitted to underlying executor at any moment.
+ */
+class SerialExecutor implements Executor
+{
+	private final Executor executor;
+	private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+	private boolean running;
+	private boolean closed;
+	/**
+	 * Maximal pending tasks count, {@link Integer#MAX_VALUE} if not bounded.
+	 */
+	private int capacity = Integer.MAX_VALUE;
+	private OverflowPolicy overflowPolicy;
+	/**
+	 * Maximal count of tasks, executed by single drain task, {@link Integer#MAX_VALUE} if not limited.
+	 */
+	private int batchSize = Integer.MAX_VALUE;
+	/**
+	 * Thread, which executes tasks at the moment, <code>null</code> if no task is executed.
+	 */
+	private Thread drainer;
+	/**
+	 * Pending keyed tasks, <code>null</code> if executor doesn't conflate tasks by key.
+	 */
+	private HashMap<Object, KeyedTask> pendingByKey;
+
+	SerialExecutor(Executor executor)
+	{
+		this.executor = executor;
+	}
+
+	@Override
+	public void execute(Runnable task)
+	{
+		synchronized (this)
+		{
+			if (closed)
+			{
+				return;
+			}
+			if (tasks.size() >= capacity && !acceptOverflow())
+			{
+				return;
+			}
+			tasks.add(task);
+			if (running)
+			{
+				return;
+			}
+			running = true;
+		}
+		schedule();
+	}
+
+	/**
+	 * Executes task, replacing pending task with equal key if there is one: replacing task takes its place in queue.
+	 * Executor must be {@link #conflatingByKey()}.
+	 * 
+	 * @param key conflation key, may be <code>null</code>
+	 */
+	void execute(@Nullable Object key, Runnable task)
+	{
+		synchronized (this)
+		{
+			if (closed)
+			{
+				return;
+			}
+			final KeyedTask pending = pendingByKey.get(key);
+			if (pending != null)
+			{
+				pending.task = task;
+				return;
+			}
+			if (tasks.size() >= capacity && !acceptOverflow())
+			{
+				return;
+			}
+			final KeyedTask keyed = new KeyedTask(key, task);
+			pendingByKey.put(key, keyed);
+			tasks.add(keyed);
+			if (running)
+			{
+				return;
+			}
+			running = true;
+		}
+		schedule();
+	}
+
+	/**
+	 * Enables {@link #execute(Object, Runnable)}. Must be called before the first task submission.
+	 */
+	SerialExecutor conflatingByKey()
+	{
+		pendingByKey = new HashMap<>();
+		return this;
+	}
+
+	/**
+	 * Limits pending tasks count. Must be called before the first task submission.
+	 * Capacity 1 with {@link OverflowPolicy#DROP_OLDEST} keeps only the latest pending task (conflation).
+	 */
+	SerialExecutor bounded(int capacity, OverflowPolicy overflowPolicy)
+	{
+		Validator.isTrue(capacity > 0, "Queue capacity must be positive");
+		Validator.notNull(overflowPolicy);
+		this.capacity = capacity;
+		this.overflowPolicy = overflowPolicy;
+		return this;
+	}
+
+	/**
+	 * Limits count of tasks, executed by single drain task: remaining tasks are executed by new drain task, submitted
+	 * to the end of underlying executor queue, so busy executor doesn't occupy shared thread indefinitely. 
+	 * Must be called before the first task submission. Underlying executor must not execute tasks in calling thread.
+	 */
+	SerialExecutor batched(int batchSize)
+	{
+		Validator.isTrue(batchSize > 0, "Batch size must be positive");
+		this.batchSize = batchSize;
+		return this;
+	}
+
+	/**
+	 * Applies overflow policy to a new task, while queue is full.
+	 * 
+	 * @return <code>true</code> if task should be added to queue
+	 */
+	private boolean acceptOverflow()
+	{
+		switch (overflowPolicy)
+		{
+			case BLOCK:
+				// task, submitted by executed one, would wait for itself
+				while (tasks.size() >= capacity && !closed && drainer != Thread.currentThread())
+				{
+					try
+					{
+						wait();
+					}
+					catch (InterruptedException e)
+					{
+						Thread.currentThread().interrupt();
+						throw new RejectedExecutionException("Interrupted while waiting for free place in queue", e);
+					}
+				}
+				return !closed;
+			case DROP_NEWEST:
+				return false;
+			case DROP_OLDEST:
+				pollTask();
+				return true;
+			case FAIL:
+				throw new RejectedExecutionException("Queue is full, capacity: " + capacity);
+			default:
+				throw new IllegalStateException("Unknown overflow policy " + overflowPolicy);
+		}
+	}
+
+	/**
+	 * Drops pending tasks and ignores further ones. Task, which is being executed, is completed.
+	 */
+	synchronized void close()
+	{
+		closed = true;
+		clearTasks();
+		notifyAll();
+	}
+
+	boolean isBounded()
+	{
+		return capacity != Integer.MAX_VALUE;
+	}
+
+	synchronized int size()
+	{
+		return tasks.size();
+	}
+
+	private void schedule()
+	{
+		try
+		{
+			executor.execute(this::drain);
+		}
+		catch (RejectedExecutionException e)
+		{
+			synchronized (this)
+			{
+				running = false;
+				clearTasks();
+				notifyAll();
+			}
+			throw e;
+		}
+	}
+
+	private void drain()
+	{
+		Runnable task;
+		for (int executed = 0; executed < batchSize; executed++)
+		{
+			if ((task = next()) == null)
+			{
+				return;
+			}
+			boolean completed = false;
+			try
+			{
+				task.run();
+				completed = true;
+			}
+			finally
+			{
+				if (!completed)
+				{
+					// failed task is propagated to underlying executor, remaining ones are executed by new drain
+					reschedule();
+				}
+			}
+		}
+		// batch is done: thread is released to other tasks of underlying executor
+		reschedule();
+	}
+
+	private synchronized Runnable next()
+	{
+		final Runnable task = closed ? null : pollTask();
+		if (task == null)
+		{
+			running = false;
+			drainer = null;
+		}
+		else
+		{
+			drainer = Thread.currentThread();
+			if (overflowPolicy == OverflowPolicy.BLOCK)
+			{
+				notifyAll();
+			}
+		}
+		return task;
+	}
+
+	private Runnable pollTask()
+	{
+		final Runnable task = tasks.poll();
+		if (task instanceof KeyedTask)
+		{
+			final KeyedTask keyed = (KeyedTask) task;
+			pendingByKey.remove(keyed.key);
+			return keyed.task;
+		}
+		return task;
+	}
+
+	private void clearTasks()
+	{
+		tasks.clear();
+		if (pendingByKey != null)
+		{
+			pendingByKey.clear();
+		}
+	}
+
+	/**
+	 * Submits new drain task for remaining tasks, if there are any. Is called by drain task, which is finishing.
+	 */
+	private void reschedule()
+	{
+		synchronized (this)
+		{
+			drainer = null;
+			if (closed || tasks.isEmpty())
+			{
+				running = false;
+				return;
+			}
+		}
+		try
+		{
+			schedule();
+		}
+		catch (RejectedExecutionException ignored)
+		{
+			// underlying executor is shut down, pending tasks are dropped
+		}
+	}
+
+	/**
+	 * Queue entry of the latest task with given key. Is used under executor lock only.
+	 */
+	private static class KeyedTask implements Runnable
+	{
+		private final Object key;
+		private Runnable task;
+
+		KeyedTask(Object key, Runnable task)
+		{
+			this.key = key;
+			this.task = task;
+		}
+
+		@Override
+		public void run()
+		{
+			task.run();
+		}
+	}
+}
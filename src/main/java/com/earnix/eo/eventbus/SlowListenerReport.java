@@ -0,0 +1,114 @@
+package com.earnix.eo.eventbus;
+
+import java.time.Duration;
+
+/**
+ * Report of listener execution, which has run longer than its subscription timeout
+ * ({@link SubscriptionBuilder#timeout(Duration)}) or bus slow listener threshold
+ * ({@link EventBusOptions#slowListenerThreshold(Duration)}). Passed to
+ * {@link EventBusOptions#slowListenerHandler(java.util.function.Consumer)} while listener is still running,
+ * at most once per execution.
+ */
+public class SlowListenerReport
+{
+	private final String name;
+	private final Event event;
+	private final Thread thread;
+	private final Duration elapsed;
+	private final Duration limit;
+	private final boolean timeout;
+	private final boolean interrupted;
+	private final StackTraceElement[] stackTrace;
+
+	SlowListenerReport(
+			String name,
+			Event event,
+			Thread thread,
+			Duration elapsed,
+			Duration limit,
+			boolean timeout,
+			boolean interrupted,
+			StackTraceElement[] stackTrace)
+	{
+		this.name = name;
+		this.event = event;
+		this.thread = thread;
+		this.elapsed = elapsed;
+		this.limit = limit;
+		this.timeout = timeout;
+		this.interrupted = interrupted;
+		this.stackTrace = stackTrace;
+	}
+
+	/**
+	 * @return subscription name, see {@link SubscriptionBuilder#name(String)}
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * @return event, which listener is executed for
+	 */
+	public Event getEvent()
+	{
+		return event;
+	}
+
+	/**
+	 * @return thread, executing listener
+	 */
+	public Thread getThread()
+	{
+		return thread;
+	}
+
+	/**
+	 * @return time listener has been executing at least
+	 */
+	public Duration getElapsed()
+	{
+		return elapsed;
+	}
+
+	/**
+	 * @return exceeded timeout or threshold
+	 */
+	public Duration getLimit()
+	{
+		return limit;
+	}
+
+	/**
+	 * @return <code>true</code> if subscription timeout was exceeded, <code>false</code> if bus threshold was
+	 */
+	public boolean isTimeout()
+	{
+		return timeout;
+	}
+
+	/**
+	 * @return <code>true</code> if executing thread was interrupted, see {@link SubscriptionBuilder#timeout(Duration, boolean)}
+	 */
+	public boolean isInterrupted()
+	{
+		return interrupted;
+	}
+
+	/**
+	 * @return stack of executing thread, sampled on overrun detection
+	 */
+	public StackTraceElement[] getStackTrace()
+	{
+		return stackTrace;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "Listener " + name + " is executing " + event.getClass().getSimpleName() + " in thread " +
+			   thread.getName() + " for " + elapsed.toMillis() + "ms, " + (timeout ? "timeout " : "threshold ") +
+			   limit.toMillis() + "ms" + (interrupted ? ", interrupted" : "");
+	}
+}
@@ -1,9 +1,9 @@
 package com.earnix.eo.eventbus;
 
-import java.time.Duration;
-import java.time.Instant;
+import java.util.Objects;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
@@ -12,9 +12,140 @@ import java.util.function.Predicate;
 class Subscription<T extends Event>
 {
 	Executor executor;
-	Duration delay;
-	Instant subscribedAt;
 	Consumer<T> listener;
 	Predicate<T> condition;
 	Consumer<Exception> errorHandler;
+	/**
+	 * Subscriptions with higher priority receive event first.
+	 */
+	int priority;
+	/**
+	 * Key, which events must have to be delivered, <code>null</code> if subscription isn't keyed.
+	 * Keyed subscriptions are registered in {@link KeyIndex}.
+	 */
+	Object key;
+	/**
+	 * Identifies subscription in statistics and slow listener reports.
+	 */
+	String name;
+	/**
+	 * Watches listener executions, <code>null</code> if there is neither subscription timeout nor bus threshold.
+	 */
+	ListenerWatchdog watchdog;
+	/**
+	 * Execution time, which is reported to {@link #watchdog}: subscription timeout or bus threshold.
+	 */
+	long overrunNanos;
+	boolean overrunIsTimeout;
+	boolean interruptOnOverrun;
+	/**
+	 * Sampled subscription site, <code>null</code> if subscription wasn't sampled or is cancelled. Guarded by this.
+	 */
+	LeakDetector.Site site;
+	/**
+	 * Statistics of listener executions, <code>null</code> if bus doesn't collect statistics.
+	 */
+	BusStatistics.ListenerRecorder recorder;
+	/**
+	 * Function of conflation key of event, <code>null</code> if events aren't conflated by key. 
+	 * Events with key are executed by {@link #queue}.
+	 */
+	Function<T, ?> conflationKey;
+
+	/**
+	 * Per-subscription queue of asynchronous executions, <code>null</code> if listener isn't executed one event
+	 * at a time (on bus async pool, with conflation or bounded queue).
+	 */
+	SerialExecutor queue;
+
+	/**
+	 * Function of ordering key of event, <code>null</code> if events aren't ordered by key.
+	 * Events are executed by {@link #lanes}, {@link #executor} is the one lanes are executed on.
+	 */
+	Function<T, ?> orderingKey;
+
+	/**
+	 * Queues of asynchronous executions, ordered by key: events with equal keys are executed by the same lane.
+	 */
+	SerialExecutor[] lanes;
+
+	/**
+	 * Pending activation of delayed subscription, <code>null</code> if subscription isn't delayed, is already 
+	 * activated or cancelled. Guarded by this subscription.
+	 */
+	TimerWheel.Timeout activation;
+
+	/**
+	 * @return <code>true</code> if executions for several events may be submitted to executor as single task.
+	 * Bounded (including conflating) queue must receive each event separately.
+	 */
+	boolean acceptsChunks()
+	{
+		return executor != null && conflationKey == null && orderingKey == null && (queue == null || !queue.isBounded());
+	}
+
+	/**
+	 * @return lane, which executes given event
+	 */
+	SerialExecutor lane(T event)
+	{
+		final int hash = Objects.hashCode(orderingKey.apply(event));
+		// spreading higher bits, lanes count is usually small
+		return lanes[Math.floorMod(hash ^ (hash >>> 16), lanes.length)];
+	}
+
+	/**
+	 * @return count of pending asynchronous executions
+	 */
+	int queueSize()
+	{
+		int size = queue == null ? 0 : queue.size();
+		if (lanes != null)
+		{
+			for (SerialExecutor lane : lanes)
+			{
+				size += lane.size();
+			}
+		}
+		return size;
+	}
+
+	synchronized boolean isAwaitingActivation()
+	{
+		return activation != null;
+	}
+
+	/**
+	 * Releases subscription resources: pending activation is cancelled, pending asynchronous executions are dropped,
+	 * sampled site is released.
+	 */
+	void cancel()
+	{
+		final TimerWheel.Timeout pendingActivation;
+		synchronized (this)
+		{
+			pendingActivation = activation;
+			activation = null;
+			if (site != null)
+			{
+				site.release();
+				site = null;
+			}
+		}
+		if (pendingActivation != null)
+		{
+			pendingActivation.cancel();
+		}
+		if (queue != null)
+		{
+			queue.close();
+		}
+		if (lanes != null)
+		{
+			for (SerialExecutor lane : lanes)
+			{
+				lane.close();
+			}
+		}
+	}
 }
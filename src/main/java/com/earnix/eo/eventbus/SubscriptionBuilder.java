@@ -1,8 +1,10 @@
 package com.earnix.eo.eventbus;
 
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
@@ -95,7 +97,11 @@ public abstract class SubscriptionBuilder<T extends Event, K extends Event>
 	}
 
 	/**
-	 * Executes listener asynchronously after finish or interruption of given thread.
+	 * Executes listener asynchronously after finish or interruption of given thread. Events, published before that,
+	 * are delivered in publishing order. No thread is started per event: all awaited threads are watched by single
+	 * shared waiter. Thread state is checked when delivery of published events is scheduled, so thread may be started
+	 * after subscription. As with {@link Thread#join()}, thread, which isn't started at that moment, isn't awaited:
+	 * events, published while earlier ones are still being delivered, are delivered together with them.
 	 * 
 	 * @param thread thread
 	 */
@@ -103,11 +109,28 @@ public abstract class SubscriptionBuilder<T extends Event, K extends Event>
 	{
 		Validator.notNull(thread);
 		Validator.isTrue(params.afterThread == null, "Prior thread already set");
+		Validator.isTrue(params.afterFuture == null, "Can not set prior thread with prior future");
 		Validator.isTrue(params.executor == null, "Can not set prior thread with executor");
 		params.afterThread = thread;
 		return this;
 	}
 
+	/**
+	 * Executes listener asynchronously after normal or exceptional completion of given future. Events, published 
+	 * before that, are delivered in publishing order.
+	 * 
+	 * @param future future
+	 */
+	public SubscriptionBuilder<T, K> afterFuture(CompletableFuture<?> future)
+	{
+		Validator.notNull(future);
+		Validator.isTrue(params.afterFuture == null, "Prior future already set");
+		Validator.isTrue(params.afterThread == null, "Can not set prior future with prior thread");
+		Validator.isTrue(params.executor == null, "Can not set prior future with executor");
+		params.afterFuture = future;
+		return this;
+	}
+
 	/**
 	 * Executes listener on given executor.
 	 * 
@@ -117,12 +140,16 @@ public abstract class SubscriptionBuilder<T extends Event, K extends Event>
 	{
 		Validator.notNull(executor);
 		Validator.isTrue(!isEdt(), "Can not specify executor for EDT listeners");
+		Validator.isTrue(!params.virtualThreads, "Can not specify executor for virtual threads listeners");
+		Validator.isTrue(params.afterThread == null && params.afterFuture == null, "Can not specify executor for listeners executed after thread or future");
 		params.executor = executor;
 		return this;
 	}
 
 	/**
 	 * Sets listener execution to be async. If EDT execution is enabled - listener will be invoked later on EDT.
+	 * Otherwise listener is executed on bus-wide shared pool (see {@link EventBusOptions#asyncThreads(int)}), 
+	 * events are delivered one at a time, in publishing order.
 	 */
 	public SubscriptionBuilder<T, K> async()
 	{
@@ -130,6 +157,99 @@ public abstract class SubscriptionBuilder<T extends Event, K extends Event>
 		return this;
 	}
 
+	/**
+	 * Sets listener execution to be async, on virtual threads if JVM supports them (Java 21+), otherwise on bus 
+	 * shared pool. Suits listeners, which block on I/O. Events are delivered one at a time, in publishing order.
+	 * See also {@link EventBusOptions#virtualThreads()}.
+	 */
+	public SubscriptionBuilder<T, K> virtualThreads()
+	{
+		Validator.isTrue(params.executor == null, "Can not use virtual threads with executor");
+		Validator.isTrue(!isEdt(), "Can not use virtual threads for EDT listeners");
+		params.async = true;
+		params.virtualThreads = true;
+		return this;
+	}
+
+	/**
+	 * Delivers only the latest event if listener falls behind: pending events, which weren't delivered yet, are 
+	 * replaced by newer one. Applies to asynchronous listeners, including EDT ones, which are then executed
+	 * one at a time.
+	 */
+	public SubscriptionBuilder<T, K> conflate()
+	{
+		Validator.isTrue(params.queueCapacity == 0, "Can not conflate events of subscription with bounded queue");
+		Validator.isTrue(params.conflationKey == null, "Events are already conflated by key");
+		params.conflate = true;
+		return this;
+	}
+
+	/**
+	 * Delivers only the latest event per key if listener falls behind: pending event, which wasn't delivered yet,
+	 * is replaced by newer one with equal key, which takes its place in queue. Events with different keys are 
+	 * delivered in publishing order. Applies to asynchronous listeners, including EDT ones, which are then executed 
+	 * one at a time.
+	 * 
+	 * @param key function of event's conflation key, e.g. ID of entity, whose state event carries
+	 */
+	public SubscriptionBuilder<T, K> conflateBy(Function<T, ?> key)
+	{
+		Validator.notNull(key);
+		Validator.isTrue(!params.conflate, "Events are already conflated");
+		Validator.isTrue(params.conflationKey == null, "Conflation key already set");
+		params.conflationKey = key;
+		return this;
+	}
+
+	/**
+	 * Executes listener asynchronously, concurrently for events with different keys: events with equal keys are 
+	 * delivered one at a time, in publishing order. Events are distributed by key hash among given number of lanes, 
+	 * each lane executes its events in order on bus shared pool (or on virtual threads / given executor).
+	 * With {@link #queueCapacity(int, OverflowPolicy)} each lane is bounded separately.
+	 * 
+	 * @param key function of event's ordering key, e.g. ID of entity, which event relates to
+	 * @param parallelism maximal count of concurrently executed events
+	 */
+	public SubscriptionBuilder<T, K> orderedBy(Function<T, ?> key, int parallelism)
+	{
+		Validator.notNull(key);
+		Validator.isTrue(parallelism > 0, "Parallelism must be positive");
+		Validator.isTrue(params.orderingKey == null, "Ordering key already set");
+		params.orderingKey = key;
+		params.parallelism = parallelism;
+		return this;
+	}
+
+	/**
+	 * Bounds queue of pending events of asynchronous listener, publisher waits while the queue is full 
+	 * ({@link OverflowPolicy#BLOCK}, not allowed on serialized bus). Events are executed one at a time, in publishing 
+	 * order. Queue size is available from {@link ListenerHandle#queueSize()}.
+	 * 
+	 * @param capacity maximal count of pending events
+	 */
+	public SubscriptionBuilder<T, K> queueCapacity(int capacity)
+	{
+		return queueCapacity(capacity, OverflowPolicy.BLOCK);
+	}
+
+	/**
+	 * Bounds queue of pending events of asynchronous listener. Events are executed one at a time, in publishing order.
+	 * Queue size is available from {@link ListenerHandle#queueSize()}.
+	 * 
+	 * @param capacity maximal count of pending events
+	 * @param overflowPolicy what to do with event, published while the queue is full
+	 */
+	public SubscriptionBuilder<T, K> queueCapacity(int capacity, OverflowPolicy overflowPolicy)
+	{
+		Validator.isTrue(capacity > 0, "Queue capacity must be positive");
+		Validator.notNull(overflowPolicy);
+		Validator.isTrue(params.queueCapacity == 0, "Queue capacity already set");
+		Validator.isTrue(!params.conflate, "Can not bound queue of conflating subscription");
+		params.queueCapacity = capacity;
+		params.overflowPolicy = overflowPolicy;
+		return this;
+	}
+
 	/**
 	 * Makes listener weak. Allows to avoid resources leaks in some cases. Is not preferred way since may cause un-deterministic behavior.
 	 * It's better to unsubscribe explicitly.
@@ -146,6 +266,7 @@ public abstract class SubscriptionBuilder<T extends Event, K extends Event>
 	public SubscriptionBuilder<T, K> edt()
 	{
 		Validator.isTrue(params.executor == null, "Cannot enable EDT if executor is specified");
+		Validator.isTrue(!params.virtualThreads, "Cannot enable EDT if virtual threads are used");
 		params.edt = true;
 		return this;
 	}
@@ -156,10 +277,48 @@ public abstract class SubscriptionBuilder<T extends Event, K extends Event>
 	public SubscriptionBuilder<T, K> asyncEdt()
 	{
 		Validator.isTrue(params.executor == null, "Cannot enable EDT if executor is specified");
+		Validator.isTrue(!params.virtualThreads, "Cannot enable EDT if virtual threads are used");
 		params.asyncEdt = true;
 		return this;
 	}
 
+	/**
+	 * Sets listener priority: listeners with higher priority receive event first, listeners with equal priority 
+	 * receive it in subscription order. Default priority is 0, or {@link ListenEvent#priority()} for annotated methods.
+	 * Synchronous listener may stop propagation of {@link ConsumableEvent} to lower-priority listeners.
+	 */
+	public SubscriptionBuilder<T, K> priority(int priority)
+	{
+		Validator.isTrue(params.priority == null, "Priority already set");
+		params.priority = priority;
+		return this;
+	}
+
+	/**
+	 * Sets subscription name, which identifies it in statistics ({@link EventBus#stats()}). By default listener class 
+	 * name is used.
+	 */
+	public SubscriptionBuilder<T, K> name(String name)
+	{
+		Validator.notNull(name);
+		Validator.isTrue(params.name == null, "Name already set");
+		params.name = name;
+		return this;
+	}
+
+	/**
+	 * Listener will receive only events with given key (by {@link Object#equals}), extracted by function, registered 
+	 * with {@link EventBus#registerKeyExtractor}. Unlike equivalent {@link #condition}, keyed subscriptions are found 
+	 * by hash lookup, so publishing cost doesn't depend on count of subscriptions to other keys.
+	 */
+	public SubscriptionBuilder<T, K> key(Object key)
+	{
+		Validator.notNull(key);
+		Validator.isTrue(params.key == null, "Key already set");
+		params.key = key;
+		return this;
+	}
+
 	/**
 	 * Condition the event must correspond to achieve listener.
 	 */
@@ -182,6 +341,38 @@ public abstract class SubscriptionBuilder<T extends Event, K extends Event>
 		return this;
 	}
 
+	/**
+	 * Reports listener executions, which run longer than given timeout, to 
+	 * {@link EventBusOptions#slowListenerHandler(Consumer)}. Overrides bus slow listener threshold.
+	 * <br/>
+	 * Synchronous listener, executed by another listener publishing to the same bus, is watched as part of the outer 
+	 * execution: its own timeout is ignored.
+	 */
+	public SubscriptionBuilder<T, K> timeout(Duration timeout)
+	{
+		return timeout(timeout, false);
+	}
+
+	/**
+	 * Reports listener executions, which run longer than given timeout, to 
+	 * {@link EventBusOptions#slowListenerHandler(Consumer)}. Overrides bus slow listener threshold.
+	 * 
+	 * Timeout of nested synchronous listener is ignored, see {@link #timeout(Duration)}.
+	 * 
+	 * @param interrupt interrupt thread of asynchronous listener on timeout, listener is expected to react 
+	 * on interruption by abandoning the work. Interrupt status is cleared after listener returns, unless thread
+	 * was already interrupted by someone else
+	 */
+	public SubscriptionBuilder<T, K> timeout(Duration timeout, boolean interrupt)
+	{
+		Validator.notNull(timeout);
+		Validator.isTrue(!timeout.isNegative() && !timeout.isZero(), "Timeout must be positive");
+		Validator.isTrue(params.timeout == null, "Timeout already set");
+		params.timeout = timeout;
+		params.interruptOnTimeout = interrupt;
+		return this;
+	}
+
 	/**
 	 * After this event original event subscription will be cancelled.
 	 */
@@ -251,6 +442,34 @@ public abstract class SubscriptionBuilder<T extends Event, K extends Event>
 				params.cancellationEventClass == null ^ params.cancellationEventCondition != null, 
 				"Cancel event condition set without cancel event class"
 		);
+		Validator.isTrue(
+				!params.conflate && params.conflationKey == null || params.async || isEdt() || params.executor != null || 
+				params.afterThread != null || params.afterFuture != null,
+				"Conflation requires asynchronous or EDT listener"
+		);
+		Validator.isTrue(
+				params.queueCapacity == 0 || params.async || params.asyncEdt || params.executor != null || 
+				params.afterThread != null || params.afterFuture != null,
+				"Queue capacity requires asynchronous listener"
+		);
+		Validator.isTrue(
+				params.orderingKey == null || (params.async || params.executor != null) && !isEdt() && 
+				params.afterThread == null && params.afterFuture == null,
+				"Ordering by key requires asynchronous listener on pool, virtual threads or executor"
+		);
+		Validator.isTrue(
+				params.orderingKey == null || !params.conflate && params.conflationKey == null,
+				"Ordering by key can not be combined with conflation"
+		);
+		Validator.isTrue(
+				!params.interruptOnTimeout || (params.async || params.executor != null || 
+				params.afterThread != null || params.afterFuture != null) && !isEdt(),
+				"Interruption on timeout requires asynchronous listener, not executed in EDT"
+		);
+		Validator.isTrue(
+				params.overflowPolicy != OverflowPolicy.BLOCK || !isEdt(),
+				"Blocking overflow policy is not allowed for EDT listeners"
+		);
 	}
 
 	public abstract ListenerHandle subscribe();
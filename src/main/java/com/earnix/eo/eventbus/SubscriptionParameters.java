@@ -2,8 +2,10 @@ package com.earnix.eo.eventbus;
 
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
@@ -14,9 +16,20 @@ class SubscriptionParameters <T extends Event, K extends Event> implements Clone
 	boolean edt;
 	Executor executor;
 	Thread afterThread;
+	CompletableFuture<?> afterFuture;
 	boolean asyncEdt;
 	boolean async;
+	boolean virtualThreads;
 	boolean weak;
+	boolean conflate;
+	Integer priority;
+	Object key;
+	String name;
+	Function<T, ?> conflationKey;
+	Function<T, ?> orderingKey;
+	int parallelism;
+	int queueCapacity;
+	OverflowPolicy overflowPolicy;
 	Class<T> eventClass;
 	Predicate<T> eventCondition;
 	Class<K> cancellationEventClass;
@@ -26,6 +39,8 @@ class SubscriptionParameters <T extends Event, K extends Event> implements Clone
 	Object objectWithListeningMethods;
 	Class<?> classWithListeningMethods;
 	Duration delay;
+	Duration timeout;
+	boolean interruptOnTimeout;
 	final HashMap<Class<Exception>, Consumer<Exception>> errorConsumers;
 
 	SubscriptionParameters()
@@ -38,9 +53,20 @@ class SubscriptionParameters <T extends Event, K extends Event> implements Clone
 		this.edt = other.edt;
 		this.executor = other.executor;
 		this.afterThread = other.afterThread;
+		this.afterFuture = other.afterFuture;
 		this.asyncEdt = other.asyncEdt;
 		this.async = other.async;
+		this.virtualThreads = other.virtualThreads;
 		this.weak = other.weak;
+		this.conflate = other.conflate;
+		this.priority = other.priority;
+		this.key = other.key;
+		this.name = other.name;
+		this.conflationKey = other.conflationKey;
+		this.orderingKey = other.orderingKey;
+		this.parallelism = other.parallelism;
+		this.queueCapacity = other.queueCapacity;
+		this.overflowPolicy = other.overflowPolicy;
 		this.eventClass = other.eventClass;
 		this.eventCondition = other.eventCondition;
 		this.cancellationEventClass = other.cancellationEventClass;
@@ -49,6 +75,8 @@ class SubscriptionParameters <T extends Event, K extends Event> implements Clone
 		this.projectPk = other.projectPk;
 		this.objectWithListeningMethods = other.objectWithListeningMethods;
 		this.delay = other.delay;
+		this.timeout = other.timeout;
+		this.interruptOnTimeout = other.interruptOnTimeout;
 		this.objectWithListeningMethods = other.objectWithListeningMethods;
 		this.classWithListeningMethods = other.classWithListeningMethods;
 		this.errorConsumers = other.errorConsumers;
@@ -0,0 +1,417 @@
+package com.earnix.eo.eventbus;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Copy-on-write registry of subscriptions. Subscriptions arrays are sorted by descending priority, subscriptions with 
+ * equal priority are kept in registration order.
+ * <br/>
+ * Readers work with immutable snapshot, published through atomic reference: they neither lock nor copy subscriptions.
+ * Writers build new snapshot and swap it in, so subscribe / cancel are paying for all copying.
+ * <br/>
+ * Keyed subscriptions are kept in {@link KeyIndex} of their event class instead: snapshot only references indexes, 
+ * which are updated in place per key.
+ */
+class SubscriptionRegistry
+{
+	@SuppressWarnings("unchecked")
+	private static final Subscription<Event>[] NO_SUBSCRIPTIONS = new Subscription[0];
+
+	private static final Comparator<Subscription<Event>> BY_PRIORITY = (a, b) -> Integer.compare(b.priority, a.priority);
+
+	private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(new HashMap<>()));
+
+	private final ConcurrentHashMap<Class<?>, Function<Event, ?>> keyExtractors = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns subscriptions of given event's class and all of its supertypes, including ones to event's key.
+	 * Returned array may be shared and must not be modified.
+	 */
+	Subscription<Event>[] resolve(Event event)
+	{
+		return snapshot.get().resolve(event);
+	}
+
+	/**
+	 * Returns current state, which allows to resolve several events consistently.
+	 */
+	Snapshot snapshot()
+	{
+		return snapshot.get();
+	}
+
+	void add(Class<?> eventClass, Subscription<Event> subscription)
+	{
+		if (subscription.key != null)
+		{
+			keyIndex(eventClass).add(subscription);
+			return;
+		}
+		Snapshot current;
+		do
+		{
+			current = snapshot.get();
+		}
+		while (!snapshot.compareAndSet(current, current.with(eventClass, subscription)));
+	}
+
+	/**
+	 * @return <code>true</code> if subscription was registered
+	 */
+	boolean remove(Class<?> eventClass, Subscription<Event> subscription)
+	{
+		if (subscription.key != null)
+		{
+			final KeyIndex index = snapshot.get().keyIndexes.get(eventClass);
+			return index != null && index.remove(subscription);
+		}
+		Snapshot current;
+		Snapshot updated;
+		do
+		{
+			current = snapshot.get();
+			if (!current.contains(eventClass, subscription))
+			{
+				return false;
+			}
+			updated = current.without(eventClass, subscription);
+		}
+		while (!snapshot.compareAndSet(current, updated));
+		return true;
+	}
+
+	boolean contains(Class<?> eventClass, Subscription<Event> subscription)
+	{
+		if (subscription.key != null)
+		{
+			final KeyIndex index = snapshot.get().keyIndexes.get(eventClass);
+			return index != null && index.contains(subscription);
+		}
+		return snapshot.get().contains(eventClass, subscription);
+	}
+
+	/**
+	 * @return count of subscriptions per subscribed event class, including keyed ones
+	 */
+	Map<Class<?>, Integer> subscriptionCounts()
+	{
+		final Snapshot current = snapshot.get();
+		final HashMap<Class<?>, Integer> result = new HashMap<>();
+		current.byEventClass.forEach((eventClass, subscriptions) -> result.put(eventClass, subscriptions.length));
+		current.keyIndexes.forEach((eventClass, index) -> result.merge(eventClass, index.size(), Integer::sum));
+		return result;
+	}
+
+	/**
+	 * Registers function, which extracts key of events of given class and its subclasses.
+	 */
+	void registerKeyExtractor(Class<?> eventClass, Function<Event, ?> keyExtractor)
+	{
+		Validator.isTrue(
+				keyExtractors.putIfAbsent(eventClass, keyExtractor) == null, 
+				"Key extractor already registered for " + eventClass.getName()
+		);
+	}
+
+	/**
+	 * @return key extractor, registered for given class or its nearest supertype, <code>null</code> if there is none
+	 */
+	Function<Event, ?> keyExtractor(Class<?> eventClass)
+	{
+		final Function<Event, ?> keyExtractor = keyExtractors.get(eventClass);
+		if (keyExtractor != null)
+		{
+			return keyExtractor;
+		}
+		if (eventClass.getSuperclass() != null)
+		{
+			final Function<Event, ?> inherited = keyExtractor(eventClass.getSuperclass());
+			if (inherited != null)
+			{
+				return inherited;
+			}
+		}
+		for (Class<?> eventInterface : eventClass.getInterfaces())
+		{
+			final Function<Event, ?> inherited = keyExtractor(eventInterface);
+			if (inherited != null)
+			{
+				return inherited;
+			}
+		}
+		return null;
+	}
+
+	private KeyIndex keyIndex(Class<?> eventClass)
+	{
+		Snapshot current;
+		KeyIndex index;
+		do
+		{
+			current = snapshot.get();
+			index = current.keyIndexes.get(eventClass);
+			if (index != null)
+			{
+				return index;
+			}
+			final Function<Event, ?> keyExtractor = keyExtractor(eventClass);
+			Validator.isTrue(keyExtractor != null, "No key extractor registered for " + eventClass.getName());
+			index = new KeyIndex(eventClass, keyExtractor);
+		}
+		while (!snapshot.compareAndSet(current, current.withKeyIndex(index)));
+		return index;
+	}
+
+	/**
+	 * Immutable registry state. Only dispatch tables are filled lazily, but their values are derived from the 
+	 * immutable part. Key indexes are mutable, but set of them is not.
+	 */
+	static class Snapshot
+	{
+		private static final KeyIndex[] NO_KEY_INDEXES = new KeyIndex[0];
+
+		private final Map<Class<?>, Subscription<Event>[]> byEventClass;
+
+		/**
+		 * Subscriptions of concrete event class and all of its supertypes, flattened.
+		 */
+		private final ConcurrentHashMap<Class<?>, Subscription<Event>[]> dispatchTable;
+
+		private final Map<Class<?>, KeyIndex> keyIndexes;
+
+		/**
+		 * Key indexes of concrete event class and all of its supertypes.
+		 */
+		private final ConcurrentHashMap<Class<?>, KeyIndex[]> keyIndexTable;
+
+		Snapshot(Map<Class<?>, Subscription<Event>[]> byEventClass)
+		{
+			this(byEventClass, new ConcurrentHashMap<>(), new HashMap<>(), new ConcurrentHashMap<>());
+		}
+
+		private Snapshot(
+				Map<Class<?>, Subscription<Event>[]> byEventClass,
+				ConcurrentHashMap<Class<?>, Subscription<Event>[]> dispatchTable,
+				Map<Class<?>, KeyIndex> keyIndexes,
+				ConcurrentHashMap<Class<?>, KeyIndex[]> keyIndexTable)
+		{
+			this.byEventClass = byEventClass;
+			this.dispatchTable = dispatchTable;
+			this.keyIndexes = keyIndexes;
+			this.keyIndexTable = keyIndexTable;
+		}
+
+		/**
+		 * Returns subscriptions, matching given event, including keyed ones.
+		 * Returned array may be shared and must not be modified.
+		 */
+		Subscription<Event>[] resolve(Event event)
+		{
+			return withKeyed(event, resolve(event.getClass()));
+		}
+
+		/**
+		 * Adds subscriptions to key of given event to already resolved subscriptions to its class. 
+		 * Allocates only if there are matching keyed subscriptions.
+		 */
+		Subscription<Event>[] withKeyed(Event event, Subscription<Event>[] subscriptions)
+		{
+			if (keyIndexes.isEmpty())
+			{
+				return subscriptions;
+			}
+			KeyIndex[] indexes = keyIndexTable.get(event.getClass());
+			if (indexes == null)
+			{
+				// computeIfAbsent locks hash bin even if key is present on Java 8
+				indexes = keyIndexTable.computeIfAbsent(event.getClass(), this::collectKeyIndexes);
+			}
+			Subscription<Event>[] result = subscriptions;
+			for (KeyIndex index : indexes)
+			{
+				final Subscription<Event>[] keyed = index.resolve(event);
+				if (keyed.length > 0)
+				{
+					result = merge(result, keyed);
+				}
+			}
+			return result;
+		}
+
+		Subscription<Event>[] resolve(Class<?> concreteEventClass)
+		{
+			Subscription<Event>[] result = dispatchTable.get(concreteEventClass);
+			if (result == null)
+			{
+				result = collect(concreteEventClass);
+				dispatchTable.putIfAbsent(concreteEventClass, result);
+			}
+			return result;
+		}
+
+		boolean contains(Class<?> eventClass, Subscription<Event> subscription)
+		{
+			final Subscription<Event>[] subscriptions = byEventClass.get(eventClass);
+			return subscriptions != null && indexOf(subscriptions, subscription) >= 0;
+		}
+
+		Snapshot withKeyIndex(KeyIndex index)
+		{
+			final HashMap<Class<?>, KeyIndex> updated = new HashMap<>(keyIndexes);
+			updated.put(index.eventClass, index);
+			return new Snapshot(byEventClass, dispatchTable, updated, new ConcurrentHashMap<>());
+		}
+
+		Snapshot with(Class<?> eventClass, Subscription<Event> subscription)
+		{
+			final HashMap<Class<?>, Subscription<Event>[]> updated = new HashMap<>(byEventClass);
+			updated.put(eventClass, append(byEventClass.getOrDefault(eventClass, NO_SUBSCRIPTIONS), subscription));
+
+			final ConcurrentHashMap<Class<?>, Subscription<Event>[]> updatedTable = new ConcurrentHashMap<>();
+			dispatchTable.forEach((concreteEventClass, subscriptions) -> updatedTable.put(
+					concreteEventClass,
+					eventClass.isAssignableFrom(concreteEventClass) ? append(subscriptions, subscription) : subscriptions
+			));
+			return new Snapshot(updated, updatedTable, keyIndexes, keyIndexTable);
+		}
+
+		Snapshot without(Class<?> eventClass, Subscription<Event> subscription)
+		{
+			final HashMap<Class<?>, Subscription<Event>[]> updated = new HashMap<>(byEventClass);
+			final Subscription<Event>[] remaining = removeFrom(byEventClass.get(eventClass), subscription);
+			if (remaining.length == 0)
+			{
+				updated.remove(eventClass);
+			}
+			else
+			{
+				updated.put(eventClass, remaining);
+			}
+
+			final ConcurrentHashMap<Class<?>, Subscription<Event>[]> updatedTable = new ConcurrentHashMap<>();
+			dispatchTable.forEach((concreteEventClass, subscriptions) -> updatedTable.put(
+					concreteEventClass,
+					eventClass.isAssignableFrom(concreteEventClass) ? removeFrom(subscriptions, subscription) : subscriptions
+			));
+			return new Snapshot(updated, updatedTable, keyIndexes, keyIndexTable);
+		}
+
+		private KeyIndex[] collectKeyIndexes(Class<?> concreteEventClass)
+		{
+			KeyIndex[] result = NO_KEY_INDEXES;
+			for (KeyIndex index : keyIndexes.values())
+			{
+				if (index.eventClass.isAssignableFrom(concreteEventClass))
+				{
+					result = Arrays.copyOf(result, result.length + 1);
+					result[result.length - 1] = index;
+				}
+			}
+			return result;
+		}
+
+		private Subscription<Event>[] collect(Class<?> concreteEventClass)
+		{
+			Subscription<Event>[] result = NO_SUBSCRIPTIONS;
+			int merges = 0;
+			for (Map.Entry<Class<?>, Subscription<Event>[]> entry : byEventClass.entrySet())
+			{
+				if (entry.getKey().isAssignableFrom(concreteEventClass))
+				{
+					final Subscription<Event>[] subscriptions = entry.getValue();
+					final Subscription<Event>[] merged = Arrays.copyOf(result, result.length + subscriptions.length);
+					System.arraycopy(subscriptions, 0, merged, result.length, subscriptions.length);
+					result = merged;
+					merges++;
+				}
+			}
+			if (merges > 1)
+			{
+				// stable: subscriptions of each class are already sorted
+				Arrays.sort(result, BY_PRIORITY);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Merges two arrays, sorted by descending priority. Subscriptions of the first one go first among equal priority.
+	 */
+	private static Subscription<Event>[] merge(Subscription<Event>[] first, Subscription<Event>[] second)
+	{
+		if (first.length == 0)
+		{
+			return second;
+		}
+		@SuppressWarnings("unchecked")
+		final Subscription<Event>[] result = new Subscription[first.length + second.length];
+		int i = 0;
+		int j = 0;
+		for (int k = 0; k < result.length; k++)
+		{
+			if (j == second.length || i < first.length && first[i].priority >= second[j].priority)
+			{
+				result[k] = first[i++];
+			}
+			else
+			{
+				result[k] = second[j++];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Inserts subscription after all subscriptions with the same or higher priority.
+	 */
+	static Subscription<Event>[] append(Subscription<Event>[] subscriptions, Subscription<Event> subscription)
+	{
+		int index = subscriptions.length;
+		while (index > 0 && subscriptions[index - 1].priority < subscription.priority)
+		{
+			index--;
+		}
+		@SuppressWarnings("unchecked")
+		final Subscription<Event>[] result = new Subscription[subscriptions.length + 1];
+		System.arraycopy(subscriptions, 0, result, 0, index);
+		result[index] = subscription;
+		System.arraycopy(subscriptions, index, result, index + 1, subscriptions.length - index);
+		return result;
+	}
+
+	static Subscription<Event>[] removeFrom(Subscription<Event>[] subscriptions, Subscription<Event> subscription)
+	{
+		final int index = indexOf(subscriptions, subscription);
+		if (index < 0)
+		{
+			return subscriptions;
+		}
+		if (subscriptions.length == 1)
+		{
+			return NO_SUBSCRIPTIONS;
+		}
+		@SuppressWarnings("unchecked")
+		final Subscription<Event>[] result = new Subscription[subscriptions.length - 1];
+		System.arraycopy(subscriptions, 0, result, 0, index);
+		System.arraycopy(subscriptions, index + 1, result, index, subscriptions.length - index - 1);
+		return result;
+	}
+
+	static int indexOf(Subscription<Event>[] subscriptions, Subscription<Event> subscription)
+	{
+		for (int i = 0; i < subscriptions.length; i++)
+		{
+			if (subscriptions[i] == subscription)
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+}
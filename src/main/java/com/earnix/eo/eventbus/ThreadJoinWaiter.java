@@ -0,0 +1,131 @@
+package com.earnix.eo.eventbus;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts threads termination into futures completion. Single daemon thread, shared by all event buses, waits for
+ * all awaited threads: it joins the oldest running awaited thread for a short period and then checks remaining ones.
+ * Waiter thread is started on demand and stops after being idle for a while.
+ */
+class ThreadJoinWaiter
+{
+	private static final long POLL_MILLIS = 10;
+	private static final long IDLE_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+	private static final Object lock = new Object();
+	private static final LinkedHashMap<Thread, CompletableFuture<Void>> awaited = new LinkedHashMap<>();
+	private static Thread waiter;
+
+	private ThreadJoinWaiter()
+	{
+	}
+
+	/**
+	 * @return future, which is completed after given thread termination. Completed future if thread isn't alive: 
+	 * terminated or not started yet, the same way as {@link Thread#join()} returns immediately for them.
+	 */
+	static CompletableFuture<Void> terminationOf(Thread thread)
+	{
+		Validator.notNull(thread);
+		if (!thread.isAlive())
+		{
+			return CompletableFuture.completedFuture(null);
+		}
+		synchronized (lock)
+		{
+			CompletableFuture<Void> termination = awaited.get(thread);
+			if (termination == null)
+			{
+				termination = new CompletableFuture<>();
+				awaited.put(thread, termination);
+				if (waiter == null)
+				{
+					waiter = new Thread(ThreadJoinWaiter::await, "eventbus-thread-join-waiter");
+					waiter.setDaemon(true);
+					waiter.start();
+				}
+				else
+				{
+					lock.notifyAll();
+				}
+			}
+			return termination;
+		}
+	}
+
+	private static void await()
+	{
+		long idleSince = System.nanoTime();
+		while (true)
+		{
+			final List<CompletableFuture<Void>> terminated = new ArrayList<>();
+			final Thread oldest;
+			synchronized (lock)
+			{
+				for (Iterator<Map.Entry<Thread, CompletableFuture<Void>>> it = awaited.entrySet().iterator(); it.hasNext(); )
+				{
+					final Map.Entry<Thread, CompletableFuture<Void>> entry = it.next();
+					if (!entry.getKey().isAlive())
+					{
+						terminated.add(entry.getValue());
+						it.remove();
+					}
+				}
+				if (awaited.isEmpty() && terminated.isEmpty())
+				{
+					final long idleNanos = System.nanoTime() - idleSince;
+					if (idleNanos >= IDLE_NANOS)
+					{
+						waiter = null;
+						return;
+					}
+					waitQuietly(TimeUnit.NANOSECONDS.toMillis(IDLE_NANOS - idleNanos) + 1);
+					continue;
+				}
+				// remaining awaited threads are alive, unless one has just terminated and will be released next time
+				oldest = awaited.isEmpty() ? null : awaited.keySet().iterator().next();
+			}
+
+			// releasing outside of the lock: completion callbacks pass listeners to their executors
+			for (CompletableFuture<Void> termination : terminated)
+			{
+				termination.complete(null);
+			}
+			if (oldest != null)
+			{
+				joinQuietly(oldest);
+			}
+			idleSince = System.nanoTime();
+		}
+	}
+
+	private static void waitQuietly(long millis)
+	{
+		try
+		{
+			lock.wait(millis);
+		}
+		catch (InterruptedException ignored)
+		{
+			// waiter thread is private, nobody is expected to interrupt it
+		}
+	}
+
+	private static void joinQuietly(Thread thread)
+	{
+		try
+		{
+			thread.join(POLL_MILLIS);
+		}
+		catch (InterruptedException ignored)
+		{
+			// waiter thread is private, nobody is expected to interrupt it
+		}
+	}
+}
@@ -0,0 +1,189 @@
+package com.earnix.eo.eventbus;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hashed timer wheel: executes tasks after given delays with tick precision. Scheduling and cancellation cost O(1),
+ * one thread serves all timeouts, however many of them are pending. Thread is started on demand and waits without 
+ * ticking while there are no timeouts.
+ * <br/>
+ * Tasks are executed on wheel thread, so they must be short.
+ */
+class TimerWheel
+{
+	private static final Logger log = LoggerFactory.getLogger(TimerWheel.class);
+
+	private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+	private static final int WHEEL_SIZE = 512;
+
+	private static final TimerWheel SHARED = new TimerWheel("eventbus-timer");
+
+	private final String threadName;
+	private final Object lock = new Object();
+	@SuppressWarnings("unchecked")
+	private final List<Timeout>[] buckets = new List[WHEEL_SIZE];
+	private final long startNanos = System.nanoTime();
+	/**
+	 * Last processed tick.
+	 */
+	private long tick;
+	private int pending;
+	private Thread thread;
+
+	TimerWheel(String threadName)
+	{
+		this.threadName = threadName;
+		for (int i = 0; i < WHEEL_SIZE; i++)
+		{
+			buckets[i] = new ArrayList<>();
+		}
+	}
+
+	/**
+	 * @return timer wheel, shared by all event buses
+	 */
+	static TimerWheel shared()
+	{
+		return SHARED;
+	}
+
+	Timeout schedule(Runnable task, long delayNanos)
+	{
+		Validator.notNull(task);
+		Validator.isTrue(delayNanos >= 0, "Delay must not be negative");
+		synchronized (lock)
+		{
+			if (pending == 0)
+			{
+				// no timeouts were pending, so ticks, skipped by idle thread, have nothing to expire
+				tick = Math.max(tick, currentTick() - 1);
+			}
+			final long elapsedNanos = System.nanoTime() - startNanos + delayNanos;
+			// rounding up: task must not be executed before delay passes
+			final long deadline = Math.max((elapsedNanos + TICK_NANOS - 1) / TICK_NANOS, tick + 1);
+			final Timeout timeout = new Timeout(task, deadline);
+			buckets[(int) (deadline % WHEEL_SIZE)].add(timeout);
+			pending++;
+			if (thread == null)
+			{
+				thread = new Thread(this::run, threadName);
+				thread.setDaemon(true);
+				thread.start();
+			}
+			else if (pending == 1)
+			{
+				// waking idle thread
+				lock.notifyAll();
+			}
+			return timeout;
+		}
+	}
+
+	private void run()
+	{
+		final List<Runnable> expired = new ArrayList<>();
+		while (true)
+		{
+			synchronized (lock)
+			{
+				if (pending == 0)
+				{
+					waitQuietly(0);
+					continue;
+				}
+				final long sleepNanos = startNanos + (tick + 1) * TICK_NANOS - System.nanoTime();
+				if (sleepNanos > 0)
+				{
+					waitQuietly(TimeUnit.NANOSECONDS.toMillis(sleepNanos) + 1);
+					continue;
+				}
+				tick++;
+				final Iterator<Timeout> it = buckets[(int) (tick % WHEEL_SIZE)].iterator();
+				while (it.hasNext())
+				{
+					final Timeout timeout = it.next();
+					if (timeout.task == null)
+					{
+						it.remove();
+					}
+					else if (timeout.deadline <= tick)
+					{
+						expired.add(timeout.task);
+						timeout.task = null;
+						pending--;
+						it.remove();
+					}
+				}
+			}
+			for (Runnable task : expired)
+			{
+				try
+				{
+					task.run();
+				}
+				catch (RuntimeException e)
+				{
+					log.error("Timer task failed", e);
+				}
+			}
+			expired.clear();
+		}
+	}
+
+	private long currentTick()
+	{
+		return (System.nanoTime() - startNanos) / TICK_NANOS;
+	}
+
+	private void waitQuietly(long millis)
+	{
+		try
+		{
+			lock.wait(millis);
+		}
+		catch (InterruptedException ignored)
+		{
+			// wheel thread is private, nobody is expected to interrupt it
+		}
+	}
+
+	/**
+	 * Pending task execution.
+	 */
+	class Timeout
+	{
+		/**
+		 * <code>null</code> if task is executed or cancelled.
+		 */
+		private Runnable task;
+		private final long deadline;
+
+		private Timeout(Runnable task, long deadline)
+		{
+			this.task = task;
+			this.deadline = deadline;
+		}
+
+		/**
+		 * Cancels task execution if it's not started yet. Releases the task immediately, timeout itself is removed 
+		 * from the wheel on its tick.
+		 */
+		void cancel()
+		{
+			synchronized (lock)
+			{
+				if (task != null)
+				{
+					task = null;
+					pending--;
+				}
+			}
+		}
+	}
+}
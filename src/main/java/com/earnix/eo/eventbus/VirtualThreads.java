@@ -0,0 +1,57 @@
+package com.earnix.eo.eventbus;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual threads support. Virtual threads API (Java 21+) is accessed reflectively, so library is still 
+ * Java 8 compatible: on older JVMs virtual threads are reported as not supported.
+ */
+class VirtualThreads
+{
+	private static final boolean supported = checkSupported();
+
+	static boolean isSupported()
+	{
+		return supported;
+	}
+
+	private static boolean checkSupported()
+	{
+		final ExecutorService executor = newExecutor("eventbus-virtual-");
+		if (executor == null)
+		{
+			return false;
+		}
+		executor.shutdown();
+		return true;
+	}
+
+	/**
+	 * Equivalent of <code>Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 0).factory())</code>.
+	 * 
+	 * @return executor, starting new virtual thread for each task, or <code>null</code> if virtual threads are not supported
+	 */
+	static ExecutorService newExecutor(String namePrefix)
+	{
+		try
+		{
+			final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			final Method name = builderClass.getMethod("name", String.class, long.class);
+			final Method factory = builderClass.getMethod("factory");
+			final Object builder = name.invoke(Thread.class.getMethod("ofVirtual").invoke(null), namePrefix, 0L);
+			final ThreadFactory threadFactory = (ThreadFactory) factory.invoke(builder);
+			return (ExecutorService) Executors.class
+					.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+					.invoke(null, threadFactory);
+		}
+		catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException | InvocationTargetException e)
+		{
+			// Java before 21 or preview API which is not enabled
+			return null;
+		}
+	}
+}
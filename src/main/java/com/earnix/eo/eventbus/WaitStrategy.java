@@ -0,0 +1,98 @@
+package com.earnix.eo.eventbus;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Defines how ring buffer dispatcher waits for published events. See {@link EventBusOptions#ringBuffer(int, WaitStrategy)}.
+ */
+public enum WaitStrategy
+{
+	/**
+	 * Spins without releasing CPU: the lowest latency, occupies a core permanently.
+	 */
+	BUSY_SPIN
+	{
+		@Override
+		void idle(int attempt)
+		{
+			// spinning
+		}
+	},
+
+	/**
+	 * Spins for a while, then yields CPU to other threads: low latency, occupies a core if other threads don't need it.
+	 */
+	YIELD
+	{
+		@Override
+		void idle(int attempt)
+		{
+			if (attempt > SPIN_ATTEMPTS)
+			{
+				Thread.yield();
+			}
+		}
+	},
+
+	/**
+	 * Spins and yields for a while, then parks until event is published: higher latency, CPU is released while bus 
+	 * is idle. Publisher checks whether dispatcher is parked and wakes it up.
+	 */
+	PARK
+	{
+		@Override
+		boolean blocks(int attempt)
+		{
+			return attempt > 2 * SPIN_ATTEMPTS;
+		}
+
+		/**
+		 * Parks for short period after spinning and yielding: publisher, waiting for free slot, isn't woken up.
+		 */
+		@Override
+		void idle(int attempt)
+		{
+			if (attempt > 2 * SPIN_ATTEMPTS)
+			{
+				LockSupport.parkNanos(PARK_NANOS);
+			}
+			else if (attempt > SPIN_ATTEMPTS)
+			{
+				Thread.yield();
+			}
+		}
+	};
+
+	private static final int SPIN_ATTEMPTS = 100;
+	private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+	/**
+	 * Attempts count is capped, so it doesn't overflow while waiting for long.
+	 */
+	private static final int MAX_ATTEMPT = 4 * SPIN_ATTEMPTS;
+
+	/**
+	 * Waits once, while awaited condition isn't met yet.
+	 * 
+	 * @param attempt number of previous unsuccessful checks of the condition
+	 */
+	abstract void idle(int attempt);
+
+	/**
+	 * @param attempt number of previous unsuccessful checks of the condition
+	 * @return <code>true</code> if waiting party should block until it is woken up, instead of {@link #idle(int)}
+	 */
+	boolean blocks(int attempt)
+	{
+		return false;
+	}
+
+	/**
+	 * @return number of unsuccessful checks after one more of them, doesn't grow beyond the point, where 
+	 * all strategies wait the longest way
+	 */
+	static int nextAttempt(int attempt)
+	{
+		return attempt < MAX_ATTEMPT ? attempt + 1 : attempt;
+	}
+}
@@ -1,21 +1,23 @@
 package com.earnix.eo.eventbus;
 
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.function.Consumer;
 
 
 /**
- * Consumer, which holds a weak reference to original.
+ * Consumer, which holds a weak reference to original. Reference is registered in event bus queue, so subscription
+ * is cancelled after original consumer is collected, without scanning other subscriptions.
  */
 class WeakConsumer<T extends Event> implements Consumer<T>
 {
-	private final WeakReference<Consumer<T>> target;
+	private final ListenerReference<T> target;
 	private final EventBusImpl eventBus;
 
-	WeakConsumer(EventBusImpl eventBus, Consumer<T> consumer)
+	WeakConsumer(EventBusImpl eventBus, Consumer<T> consumer, ReferenceQueue<Object> collectedListeners)
 	{
 		this.eventBus = eventBus;
-		this.target = new WeakReference<>(consumer);
+		this.target = new ListenerReference<>(consumer, collectedListeners);
 	}
 
 	@Override
@@ -33,5 +35,39 @@ class WeakConsumer<T extends Event> implements Consumer<T>
 	{
 		return target.get() == null;
 	}
-	
+
+	/**
+	 * Sets handle to be cancelled after original consumer is collected.
+	 */
+	void attach(ListenerHandle handle)
+	{
+		target.handle = handle;
+		// consumer could be collected before handle was set
+		if (isRemoved())
+		{
+			handle.cancel();
+		}
+	}
+
+	static class ListenerReference<T extends Event> extends WeakReference<Consumer<T>>
+	{
+		private volatile ListenerHandle handle;
+
+		ListenerReference(Consumer<T> referent, ReferenceQueue<Object> queue)
+		{
+			super(referent, queue);
+		}
+
+		/**
+		 * Cancels subscription of collected consumer.
+		 */
+		void expire()
+		{
+			final ListenerHandle handle = this.handle;
+			if (handle != null)
+			{
+				handle.cancel();
+			}
+		}
+	}
 }
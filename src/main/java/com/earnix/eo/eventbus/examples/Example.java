@@ -156,11 +156,11 @@ public class Example {
         System.out.println();
 
         {
-            System.out.println("Subscription builder, listener execution on new thread");
+            System.out.println("Subscription builder, asynchronous listener execution on bus shared pool");
 
             handle = Events.builder(
                     MyEvent.class,
-                    (e) -> System.out.println("Received: " + e + ", new thread: " + Thread.currentThread().getName())
+                    (e) -> System.out.println("Received: " + e + ", pool thread: " + Thread.currentThread().getName())
             ).async().subscribe();
 
             Events.publish(new MyEvent());
@@ -206,10 +206,11 @@ public class Example {
             
             Events.publish(new MyEvent());
             
+            // pending events are dropped on cancellation
+            Thread.sleep(2000);
             handle.cancel();
         }
         
-        Thread.sleep(2000);
         System.out.println();
 
         {
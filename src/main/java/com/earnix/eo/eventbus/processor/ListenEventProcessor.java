@@ -0,0 +1,311 @@
+package com.earnix.eo.eventbus.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Generates {@link com.earnix.eo.eventbus.ListenerIndex} for each class, which declares 
+ * {@link com.earnix.eo.eventbus.ListenEvent}-annotated methods. Index calls listening methods directly, so
+ * {@link com.earnix.eo.eventbus.EventBus#subscribeMethods} doesn't need reflection for indexed classes.
+ * <br/>
+ * Processor is optional and is not registered as a service: it should be enabled explicitly, e.g. with
+ * <code>-processor com.earnix.eo.eventbus.processor.ListenEventProcessor</code>.
+ * Classes, which are not accessible from their package (private or local ones), are not indexed.
+ */
+public class ListenEventProcessor extends AbstractProcessor
+{
+	private static final String LISTEN_EVENT = "com.earnix.eo.eventbus.ListenEvent";
+	private static final String EVENT = "com.earnix.eo.eventbus.Event";
+	private static final String LISTENER_INDEX = "com.earnix.eo.eventbus.ListenerIndex";
+	private static final String SUFFIX = "_ListenerIndex";
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes()
+	{
+		return Collections.singleton(LISTEN_EVENT);
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion()
+	{
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv)
+	{
+		final TypeElement listenEvent = processingEnv.getElementUtils().getTypeElement(LISTEN_EVENT);
+		if (listenEvent == null)
+		{
+			return false;
+		}
+		final Set<TypeElement> listenerClasses = new LinkedHashSet<>();
+		for (Element element : roundEnv.getElementsAnnotatedWith(listenEvent))
+		{
+			if (element.getKind() == ElementKind.METHOD)
+			{
+				listenerClasses.add((TypeElement) element.getEnclosingElement());
+			}
+		}
+		for (TypeElement listenerClass : listenerClasses)
+		{
+			if (isAccessible(listenerClass))
+			{
+				generateIndex(listenerClass, listenEvent);
+			}
+		}
+		return false;
+	}
+
+	private void generateIndex(TypeElement listenerClass, TypeElement listenEvent)
+	{
+		final List<String> registrations = new ArrayList<>();
+		final List<ExecutableElement> methods = ElementFilter.methodsIn(
+				processingEnv.getElementUtils().getAllMembers(listenerClass)
+		);
+		for (ExecutableElement method : methods)
+		{
+			if (!isAnnotated(method, listenEvent))
+			{
+				continue;
+			}
+			if (!method.getModifiers().contains(Modifier.PUBLIC))
+			{
+				// mirroring reflection-based subscription, which uses public methods only
+				processingEnv.getMessager().printMessage(
+						Diagnostic.Kind.WARNING, 
+						"Event listening method is not public and will be ignored", 
+						method
+				);
+				continue;
+			}
+			final List<? extends VariableElement> parameters = method.getParameters();
+			for (int i = 0; i < parameters.size(); i++)
+			{
+				final TypeMirror parameterType = parameters.get(i).asType();
+				if (!isEvent(parameterType))
+				{
+					processingEnv.getMessager().printMessage(
+							Diagnostic.Kind.ERROR,
+							"Event listening method parameter class must implement Event marker",
+							parameters.get(i)
+					);
+					return;
+				}
+				registrations.add(registration(listenerClass, method, i, priority(method, listenEvent)));
+			}
+		}
+		if (!registrations.isEmpty())
+		{
+			write(listenerClass, registrations);
+		}
+	}
+
+	/**
+	 * Listener is registered for erased declared parameter type, as reflection-based subscription does. Method is 
+	 * called on raw declaring class, if it's visible from generated index, so inherited method of generic class 
+	 * receives the same events as through reflection. Otherwise arguments are cast to parameter types of method as 
+	 * member of listener class.
+	 */
+	private String registration(TypeElement listenerClass, ExecutableElement method, int argIndex, int priority)
+	{
+		final boolean isStatic = method.getModifiers().contains(Modifier.STATIC);
+		final TypeElement declaringClass = (TypeElement) method.getEnclosingElement();
+		final boolean viaDeclaringClass = isVisible(declaringClass, listenerClass);
+		final List<? extends VariableElement> parameters = method.getParameters();
+		final List<? extends TypeMirror> argumentTypes = viaDeclaringClass ? 
+				parameters.stream().map(VariableElement::asType).collect(Collectors.toList()) : 
+				((ExecutableType) processingEnv.getTypeUtils().asMemberOf(
+						(DeclaredType) listenerClass.asType(), 
+						method
+				)).getParameterTypes();
+		final String eventClass = typeName(parameters.get(argIndex).asType());
+		final StringBuilder arguments = new StringBuilder();
+		for (int i = 0; i < parameters.size(); i++)
+		{
+			if (i > 0)
+			{
+				arguments.append(", ");
+			}
+			final String argumentType = typeName(argumentTypes.get(i));
+			if (i != argIndex)
+			{
+				arguments.append("(").append(argumentType).append(") null");
+			}
+			else if (argumentType.equals(eventClass))
+			{
+				arguments.append("event");
+			}
+			else
+			{
+				arguments.append("(").append(argumentType).append(") event");
+			}
+		}
+		final String className = (viaDeclaringClass ? declaringClass : listenerClass).getQualifiedName().toString();
+		final String receiver = isStatic ? className : "((" + className + ") target)";
+		return String.format(
+				"\t\tregistry.listener(%s.class, %s, %d, (target, event) -> %s.%s(%s));",
+				eventClass,
+				isStatic,
+				priority,
+				receiver,
+				method.getSimpleName(),
+				arguments
+		);
+	}
+
+	private void write(TypeElement listenerClass, List<String> registrations)
+	{
+		final PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(listenerClass);
+		final String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+		final String binaryName = processingEnv.getElementUtils().getBinaryName(listenerClass).toString();
+		final String indexName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + SUFFIX;
+		try
+		{
+			final JavaFileObject file = processingEnv.getFiler().createSourceFile(
+					packageName.isEmpty() ? indexName : packageName + "." + indexName,
+					listenerClass
+			);
+			try (Writer writer = file.openWriter())
+			{
+				if (!packageName.isEmpty())
+				{
+					writer.write("package " + packageName + ";\n\n");
+				}
+				writer.write("/**\n * Generated by " + ListenEventProcessor.class.getName() + ", do not edit.\n */\n");
+				writer.write("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+				writer.write("public final class " + indexName + " implements " + LISTENER_INDEX + "\n{\n");
+				writer.write("\t@Override\n");
+				writer.write("\tpublic void register(" + LISTENER_INDEX + ".Registry registry)\n\t{\n");
+				for (String registration : registrations)
+				{
+					writer.write(registration);
+					writer.write("\n");
+				}
+				writer.write("\t}\n}\n");
+			}
+		}
+		catch (IOException e)
+		{
+			processingEnv.getMessager().printMessage(
+					Diagnostic.Kind.ERROR, 
+					"Failed to generate listener index: " + e, 
+					listenerClass
+			);
+		}
+	}
+
+	private boolean isAnnotated(ExecutableElement method, TypeElement annotation)
+	{
+		return method.getAnnotationMirrors().stream()
+				.anyMatch(mirror -> mirror.getAnnotationType().asElement().equals(annotation));
+	}
+
+	/**
+	 * @return value of <code>priority</code> attribute of {@link com.earnix.eo.eventbus.ListenEvent}, 0 by default
+	 */
+	private int priority(ExecutableElement method, TypeElement annotation)
+	{
+		for (AnnotationMirror mirror : method.getAnnotationMirrors())
+		{
+			if (mirror.getAnnotationType().asElement().equals(annotation))
+			{
+				for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet())
+				{
+					if (entry.getKey().getSimpleName().contentEquals("priority"))
+					{
+						return (Integer) entry.getValue().getValue();
+					}
+				}
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Type variable parameter is checked by its erasure, which is its bound, as reflection sees it.
+	 */
+	private boolean isEvent(TypeMirror type)
+	{
+		final TypeElement event = processingEnv.getElementUtils().getTypeElement(EVENT);
+		final TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+		return erased.getKind() == TypeKind.DECLARED && 
+			   processingEnv.getTypeUtils().isAssignable(erased, event.asType());
+	}
+
+	private String typeName(TypeMirror type)
+	{
+		return processingEnv.getTypeUtils().erasure(type).toString();
+	}
+
+	/**
+	 * @return <code>true</code> if type can be referenced from index of given listener class
+	 */
+	private boolean isVisible(TypeElement type, TypeElement listenerClass)
+	{
+		if (type.equals(listenerClass))
+		{
+			return true;
+		}
+		final boolean samePackage = processingEnv.getElementUtils().getPackageOf(type)
+				.equals(processingEnv.getElementUtils().getPackageOf(listenerClass));
+		Element current = type;
+		while (current instanceof TypeElement)
+		{
+			final Set<Modifier> modifiers = current.getModifiers();
+			if (!modifiers.contains(Modifier.PUBLIC) && !(samePackage && !modifiers.contains(Modifier.PRIVATE)))
+			{
+				return false;
+			}
+			current = current.getEnclosingElement();
+		}
+		return isAccessible(type);
+	}
+
+	/**
+	 * Generated index is located in the same package, so listener class must be accessible from there.
+	 */
+	private static boolean isAccessible(TypeElement type)
+	{
+		Element current = type;
+		while (current instanceof TypeElement)
+		{
+			final TypeElement currentType = (TypeElement) current;
+			if (currentType.getNestingKind() == NestingKind.LOCAL ||
+				currentType.getNestingKind() == NestingKind.ANONYMOUS ||
+				currentType.getModifiers().contains(Modifier.PRIVATE))
+			{
+				return false;
+			}
+			current = current.getEnclosingElement();
+		}
+		return true;
+	}
+}
@@ -3,19 +3,40 @@ package com.earnix.eo.eventbus;
 import org.junit.jupiter.api.Test;
 
 import javax.swing.SwingUtilities;
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 @SuppressWarnings({"CodeBlock2Expr", "Convert2MethodRef"})
 class EventsTest {
@@ -88,6 +109,191 @@ class EventsTest {
         handle.cancel();
     }
 
+    @Test
+    void testPublishAll() throws Exception {
+        EventBus bus = Events.createBus("test");
+        List<Event> received = new ArrayList<>();
+        bus.subscribe(Event.class, received::add);
+        List<Integer> receivedAsync = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger tasks = new AtomicInteger();
+        bus.builder(IndexedEvent.class, (e) -> receivedAsync.add(e.index)).executor(task -> {
+            tasks.incrementAndGet();
+            task.run();
+        }).condition(e -> e.index % 2 == 0).subscribe();
+
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            events.add(new IndexedEvent(i));
+            events.add(new Event1());
+        }
+        bus.publishAll(events);
+
+        assertEquals(events, received, "Events must be delivered in publishing order");
+        assertEquals(1, tasks.get(), "Async listener must receive events as single chunk");
+        assertEquals(50, receivedAsync.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(2 * i, (int) receivedAsync.get(i));
+        }
+        bus.close();
+    }
+
+    @Test
+    void testPublishBatch() throws Exception {
+        EventBus bus = Events.createBus("test");
+        final int EVENTS = 1_000;
+        CountDownLatch latch = new CountDownLatch(EVENTS);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        bus.builder(IndexedEvent.class, (e) -> {
+            received.add(e.index);
+            latch.countDown();
+        }).async().subscribe();
+        List<Integer> conflated = Collections.synchronizedList(new ArrayList<>());
+        bus.builder(IndexedEvent.class, (e) -> conflated.add(e.index)).executor(Runnable::run).conflate().subscribe();
+
+        EventBatch batch = bus.publishBatch();
+        for (int i = 0; i < EVENTS; i++) {
+            batch.add(new IndexedEvent(i));
+        }
+        assertEquals(EVENTS, batch.size());
+        batch.publish();
+        assertEquals(0, batch.size());
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "All events must be delivered");
+        for (int i = 0; i < EVENTS; i++) {
+            assertEquals(i, (int) received.get(i), "Events must be delivered in publishing order");
+        }
+        assertEquals(EVENTS, conflated.size(), "Conflating listener must receive each event separately");
+        bus.close();
+    }
+
+    @Test
+    void testRingBuffer_parkedWhileIdle() throws Exception {
+        EventBus bus = Events.createBus("idle", new EventBusOptions().ringBuffer(16));
+        Thread dispatcher = Thread.getAllStackTraces().keySet().stream()
+                .filter(t -> t.getName().equals("eventbus-idle-dispatcher"))
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+        for (int i = 0; i < 3; i++) {
+            for (int wait = 0; wait < 100 && dispatcher.getState() != Thread.State.WAITING; wait++) {
+                pause(10);
+            }
+            assertEquals(Thread.State.WAITING, dispatcher.getState(), "Idle dispatcher must park until event is published");
+            CountDownLatch latch = new CountDownLatch(1);
+            ListenerHandle handle = bus.subscribe(Event1.class, e -> latch.countDown());
+            bus.publish(new Event1());
+            assertTrue(latch.await(1, TimeUnit.SECONDS), "Publisher must wake up parked dispatcher");
+            handle.cancel();
+        }
+        bus.close();
+        dispatcher.join(1000);
+        assertFalse(dispatcher.isAlive(), "Closing must wake up parked dispatcher");
+    }
+
+    @Test
+    void testRingBuffer() throws Exception {
+        for (WaitStrategy waitStrategy : WaitStrategy.values()) {
+            EventBus bus = Events.createBus("test", new EventBusOptions().ringBuffer(1024, waitStrategy));
+            final int PUBLISHERS = 4;
+            final int EVENTS = 10_000;
+            CountDownLatch latch = new CountDownLatch(PUBLISHERS * EVENTS);
+            Set<String> threads = ConcurrentHashMap.newKeySet();
+            List<List<Integer>> received = new ArrayList<>();
+            for (int i = 0; i < PUBLISHERS; i++) {
+                received.add(new ArrayList<>());
+            }
+            bus.subscribe(IndexedEvent.class, (e) -> {
+                threads.add(Thread.currentThread().getName());
+                received.get(e.index / EVENTS).add(e.index % EVENTS);
+                latch.countDown();
+            });
+
+            for (int p = 0; p < PUBLISHERS; p++) {
+                int publisher = p;
+                new Thread(() -> {
+                    for (int i = 0; i < EVENTS; i++) {
+                        bus.publish(new IndexedEvent(publisher * EVENTS + i));
+                    }
+                }).start();
+            }
+            assertTrue(latch.await(10, TimeUnit.SECONDS), "All events must be delivered: " + waitStrategy);
+            assertEquals(Collections.singleton("eventbus-test-dispatcher"), threads);
+            for (List<Integer> fromPublisher : received) {
+                for (int i = 0; i < EVENTS; i++) {
+                    assertEquals(i, (int) fromPublisher.get(i), "Events of each publisher must be delivered in order");
+                }
+            }
+
+            bus.close();
+            AtomicInteger afterClose = new AtomicInteger();
+            bus.subscribe(Event1.class, (e) -> afterClose.incrementAndGet());
+            bus.publish(new Event1());
+            assertEquals(1, afterClose.get(), "Closed bus must dispatch in publishing thread");
+        }
+    }
+
+    @Test
+    void testRingBuffer_publishFromListener() throws Exception {
+        EventBus bus = Events.createBus("test", new EventBusOptions().ringBuffer(2));
+        final int EVENTS = 10;
+        CountDownLatch latch = new CountDownLatch(EVENTS);
+        bus.subscribe(IndexedEvent.class, (e) -> latch.countDown());
+        bus.subscribe(Event1.class, (e) -> {
+            // ring is filled by the dispatcher itself, which must not wait for free slot
+            for (int i = 0; i < EVENTS; i++) {
+                bus.publish(new IndexedEvent(i));
+            }
+        });
+        bus.publish(new Event1());
+        assertTrue(latch.await(5, TimeUnit.SECONDS), "Events, published by listener into full ring, must be delivered");
+        bus.close();
+    }
+
+    @Test
+    void testRingBuffer_listenerError() throws Exception {
+        EventBus bus = Events.createBus("test", new EventBusOptions().ringBuffer(2));
+        CountDownLatch latch = new CountDownLatch(1);
+        bus.subscribe(Event1.class, (e) -> {
+            throw new AssertionError();
+        });
+        bus.subscribe(Event2.class, (e) -> latch.countDown());
+        for (int i = 0; i < 10; i++) {
+            bus.publish(new Event1());
+        }
+        bus.publish(new Event2());
+        assertTrue(latch.await(5, TimeUnit.SECONDS), "Dispatcher must survive listener error");
+        bus.close();
+    }
+
+    @Test
+    void testBadOptions_ringBufferCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new EventBusOptions().ringBuffer(1000));
+    }
+
+    @Test
+    void testSubscribeDelay() {
+        EventBus bus = Events.createBus("test");
+        AtomicInteger received = new AtomicInteger();
+        ListenerHandle handle = bus.builder(Event1.class, (e) -> received.incrementAndGet())
+                .delay(Duration.ofMillis(100))
+                .subscribe();
+        ListenerHandle cancelled = bus.builder(Event1.class, (e) -> received.incrementAndGet())
+                .delay(Duration.ofMillis(100))
+                .subscribe();
+
+        bus.publish(new Event1());
+        assertEquals(0, received.get(), "Subscription must not be active before delay passes");
+        assertTrue(handle.isActive());
+        cancelled.cancel();
+        assertFalse(cancelled.isActive());
+
+        pause(300);
+        bus.publish(new Event1());
+        assertEquals(1, received.get(), "Only not cancelled subscription must be activated");
+        assertTrue(handle.isActive());
+        handle.cancel();
+        assertFalse(handle.isActive());
+    }
+
     @Test
     void testSubscribeEdt() {
         List<Object> events = new ArrayList<>();
@@ -107,6 +313,30 @@ class EventsTest {
         handle.cancel();
     }
 
+    @Test
+    void testSubscribeWeak_collectedCancelled() {
+        EventBus bus = Events.createBus("test");
+        List<ListenerHandle> handles = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            // capturing lambdas, non-capturing ones are never collected
+            List<Event1> received = new ArrayList<>();
+            handles.add(bus.builder(Event1.class, (Consumer<Event1>) received::add).weak().cancelOn(Event2.class).cancelOnCondition((e) -> false).subscribe());
+        }
+        Consumer<Event1> retained = (e) -> {
+        };
+        ListenerHandle retainedHandle = bus.builder(Event1.class, retained).weak().subscribe();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (handles.stream().anyMatch(ListenerHandle::isActive) && System.nanoTime() < deadline) {
+            System.gc();
+            pause(10);
+            bus.publish(new Event2());
+        }
+        assertFalse(handles.stream().anyMatch(ListenerHandle::isActive), "Collected listeners must be cancelled");
+        assertTrue(retainedHandle.isActive());
+        retainedHandle.cancel();
+    }
+
     @Test
     void testSubscribeAfterThread() {
         Thread thread = new Thread(() -> {
@@ -128,6 +358,97 @@ class EventsTest {
         handle.cancel();
     }
 
+    @Test
+    void testSubscribeAfterThread_notStarted() throws Exception {
+        EventBus bus = Events.createBus("test");
+        CountDownLatch received = new CountDownLatch(1);
+        bus.builder(Event1.class, (e) -> received.countDown()).afterThread(new Thread(() -> {})).subscribe();
+        bus.publish(new Event1());
+        assertTrue(received.await(1, TimeUnit.SECONDS), "Thread, which isn't started, must not be awaited, as by join()");
+    }
+
+    @Test
+    void testSubscribeAfterThread_startedAfterSubscription() throws Exception {
+        EventBus bus = Events.createBus("test");
+        CountDownLatch finish = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            try {
+                finish.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        CountDownLatch received = new CountDownLatch(1);
+        bus.builder(Event1.class, (e) -> received.countDown()).afterThread(thread).subscribe();
+        thread.start();
+        bus.publish(new Event1());
+        assertFalse(received.await(100, TimeUnit.MILLISECONDS), "Thread, started after subscription, must be awaited");
+        finish.countDown();
+        assertTrue(received.await(1, TimeUnit.SECONDS));
+        bus.close();
+    }
+
+    @Test
+    void testSubscribeAfterThread_burst() throws Exception {
+        EventBus bus = Events.createBus("test");
+        CountDownLatch finish = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            try {
+                finish.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        thread.start();
+
+        final int EVENTS = 10_000;
+        CountDownLatch latch = new CountDownLatch(EVENTS);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        bus.builder(IndexedEvent.class, (e) -> {
+            received.add(e.index);
+            latch.countDown();
+        }).afterThread(thread).subscribe();
+
+        int threadsBefore = Thread.activeCount();
+        for (int i = 0; i < EVENTS; i++) {
+            bus.publish(new IndexedEvent(i));
+        }
+        assertTrue(Thread.activeCount() - threadsBefore <= 1, "Thread must not be started per event");
+        pause(50);
+        assertTrue(received.isEmpty());
+
+        finish.countDown();
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "All events must be delivered");
+        for (int i = 0; i < EVENTS; i++) {
+            assertEquals(i, (int) received.get(i), "Events must be delivered in publishing order");
+        }
+        bus.close();
+    }
+
+    @Test
+    void testSubscribeAfterFuture() throws Exception {
+        EventBus bus = Events.createBus("test");
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CountDownLatch latch = new CountDownLatch(2);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        ListenerHandle handle = bus.builder(IndexedEvent.class, (e) -> {
+            received.add(e.index);
+            latch.countDown();
+        }).afterFuture(future).subscribe();
+
+        bus.publish(new IndexedEvent(0));
+        pause(50);
+        assertTrue(received.isEmpty());
+
+        future.completeExceptionally(new IllegalStateException());
+        bus.publish(new IndexedEvent(1));
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "All events must be delivered");
+        assertEquals(Arrays.asList(0, 1), received);
+
+        handle.cancel();
+        bus.close();
+    }
+
     @Test
     void testSubscribeAsync() {
         List<Object> events = new ArrayList<>();
@@ -144,6 +465,251 @@ class EventsTest {
         handle.cancel();
     }
 
+    @Test
+    void testSubscribeAsync_sharedPool() throws Exception {
+        EventBus bus = Events.createBus("test", new EventBusOptions().asyncThreads(2));
+        final int SUBSCRIPTIONS = 50;
+        final int EVENTS = 100;
+        CountDownLatch latch = new CountDownLatch(SUBSCRIPTIONS * EVENTS);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<List<Integer>> receivedPerSubscription = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIPTIONS; i++) {
+            List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+            receivedPerSubscription.add(received);
+            bus.builder(IndexedEvent.class, (e) -> {
+                threads.add(Thread.currentThread().getName());
+                received.add(e.index);
+                latch.countDown();
+            }).async().subscribe();
+        }
+
+        for (int i = 0; i < EVENTS; i++) {
+            bus.publish(new IndexedEvent(i));
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "All events must be delivered");
+        assertTrue(threads.size() <= 2, "Listeners must be executed on shared pool: " + threads);
+        assertFalse(threads.contains(Thread.currentThread().getName()), "Listeners must not be executed by publisher");
+        for (List<Integer> received : receivedPerSubscription) {
+            for (int i = 0; i < EVENTS; i++) {
+                assertEquals(i, (int) received.get(i), "Events must be delivered in publishing order");
+            }
+        }
+        bus.close();
+    }
+
+    @Test
+    void testSubscribeAsync_sharedPoolFairness() throws Exception {
+        EventBus bus = Events.createBus("test", new EventBusOptions().asyncThreads(1));
+        final int EVENTS = 1000;
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(EVENTS + 1);
+        List<Object> order = Collections.synchronizedList(new ArrayList<>());
+        bus.builder(IndexedEvent.class, (e) -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                throw new RuntimeException(ex);
+            }
+            order.add(e);
+            done.countDown();
+        }).async().subscribe();
+        bus.builder(Event1.class, (e) -> {
+            order.add(e);
+            done.countDown();
+        }).async().subscribe();
+
+        for (int i = 0; i < EVENTS; i++) {
+            bus.publish(new IndexedEvent(i));
+        }
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        Event1 event1 = new Event1();
+        bus.publish(event1);
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS), "All events must be delivered");
+        assertTrue(order.indexOf(event1) < EVENTS, "Busy subscription must release pool thread to other ones");
+        bus.close();
+    }
+
+    @Test
+    void testSubscribeOrderedBy() throws Exception {
+        EventBus bus = Events.createBus("test", new EventBusOptions().asyncThreads(4));
+        final int KEYS = 8;
+        final int EVENTS = 1_000;
+        CountDownLatch latch = new CountDownLatch(EVENTS);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        Map<Integer, List<Integer>> receivedByKey = new ConcurrentHashMap<>();
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        bus.builder(IndexedEvent.class, (e) -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            threads.add(Thread.currentThread().getName());
+            receivedByKey.computeIfAbsent(e.index % KEYS, k -> Collections.synchronizedList(new ArrayList<>())).add(e.index);
+            if (e.index < 4 * KEYS) {
+                pause(5);
+            }
+            concurrent.decrementAndGet();
+            latch.countDown();
+        }).async().orderedBy(e -> e.index % KEYS, 4).subscribe();
+
+        for (int i = 0; i < EVENTS; i++) {
+            bus.publish(new IndexedEvent(i));
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "All events must be delivered");
+        assertTrue(threads.size() > 1, "Different keys must be processed concurrently: " + threads);
+        assertTrue(maxConcurrent.get() <= 4, "At most 4 events must be executed concurrently");
+        assertEquals(KEYS, receivedByKey.size());
+        receivedByKey.forEach((key, received) -> {
+            for (int i = 0; i < received.size(); i++) {
+                assertEquals(key + i * KEYS, (int) received.get(i), "Events of same key must be delivered in publishing order");
+            }
+        });
+        bus.close();
+    }
+
+    @Test
+    void testBadBuilderConditions_orderedBy() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            Events.builder(Event1.class, (e) -> {
+            }).orderedBy(e -> e, 4).subscribe();
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            Events.builder(Event1.class, (e) -> {
+            }).asyncEdt().orderedBy(e -> e, 4).subscribe();
+        });
+    }
+
+    @Test
+    void testSubscribeVirtualThreads() throws Exception {
+        // falls back to shared pool if JVM doesn't support virtual threads
+        EventBus bus = Events.createBus("test");
+        final int EVENTS = 100;
+        CountDownLatch latch = new CountDownLatch(EVENTS);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        bus.builder(IndexedEvent.class, (e) -> {
+            threads.add(Thread.currentThread().getName());
+            received.add(e.index);
+            latch.countDown();
+        }).virtualThreads().subscribe();
+
+        for (int i = 0; i < EVENTS; i++) {
+            bus.publish(new IndexedEvent(i));
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "All events must be delivered");
+        for (int i = 0; i < EVENTS; i++) {
+            assertEquals(i, (int) received.get(i), "Events must be delivered in publishing order");
+        }
+        String expectedPrefix = VirtualThreads.isSupported() ? "eventbus-test-virtual-" : "eventbus-test-async-";
+        assertTrue(threads.stream().allMatch(name -> name.startsWith(expectedPrefix)), threads.toString());
+        bus.close();
+    }
+
+    @Test
+    void testQueueCapacity_dropPolicies() throws Exception {
+        EventBus bus = Events.createBus("test", new EventBusOptions().asyncThreads(3));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(3);
+        List<Integer> dropNewest = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> dropOldest = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> fail = Collections.synchronizedList(new ArrayList<>());
+        List<Exception> errors = Collections.synchronizedList(new ArrayList<>());
+        ListenerHandle dropNewestHandle = bus.builder(IndexedEvent.class, (e) -> awaitAndAdd(started, release, dropNewest, e))
+                .async().queueCapacity(2, OverflowPolicy.DROP_NEWEST).subscribe();
+        ListenerHandle dropOldestHandle = bus.builder(IndexedEvent.class, (e) -> awaitAndAdd(started, release, dropOldest, e))
+                .async().queueCapacity(2, OverflowPolicy.DROP_OLDEST).subscribe();
+        ListenerHandle failHandle = bus.builder(IndexedEvent.class, (e) -> awaitAndAdd(started, release, fail, e))
+                .async().queueCapacity(2, OverflowPolicy.FAIL).onError(errors::add).subscribe();
+
+        // first event is being executed by each listener
+        bus.publish(new IndexedEvent(0));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        for (int i = 1; i <= 4; i++) {
+            bus.publish(new IndexedEvent(i));
+        }
+        assertEquals(2, dropNewestHandle.queueSize());
+        assertEquals(2, dropOldestHandle.queueSize());
+        assertEquals(2, failHandle.queueSize());
+        assertEquals(2, errors.size());
+        assertTrue(errors.stream().allMatch(e -> e instanceof RejectedExecutionException));
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ((dropNewest.size() < 3 || dropOldest.size() < 3 || fail.size() < 3) && System.nanoTime() < deadline) {
+            pause(10);
+        }
+        assertEquals(Arrays.asList(0, 1, 2), dropNewest);
+        assertEquals(Arrays.asList(0, 3, 4), dropOldest);
+        assertEquals(Arrays.asList(0, 1, 2), fail);
+        assertEquals(0, dropNewestHandle.queueSize());
+        bus.close();
+    }
+
+    @Test
+    void testQueueCapacity_block() throws Exception {
+        EventBus bus = Events.createBus("test");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        ListenerHandle handle = bus.builder(IndexedEvent.class, (e) -> awaitAndAdd(started, release, received, e))
+                .async().queueCapacity(2).subscribe();
+
+        CountDownLatch published = new CountDownLatch(1);
+        Thread publisher = new Thread(() -> {
+            for (int i = 0; i < 10; i++) {
+                bus.publish(new IndexedEvent(i));
+            }
+            published.countDown();
+        });
+        publisher.start();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertFalse(published.await(100, TimeUnit.MILLISECONDS), "Publisher must wait while queue is full");
+        assertEquals(2, handle.queueSize());
+
+        release.countDown();
+        assertTrue(published.await(10, TimeUnit.SECONDS));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (received.size() < 10 && System.nanoTime() < deadline) {
+            pause(10);
+        }
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), received, "No events must be dropped");
+        bus.close();
+    }
+
+    @Test
+    void testBadBuilderConditions_queueCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            Events.builder(Event1.class, (e) -> {
+            }).queueCapacity(10).subscribe();
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            Events.builder(Event1.class, (e) -> {
+            }).asyncEdt().queueCapacity(10, OverflowPolicy.BLOCK).subscribe();
+        });
+        EventBus serialized = Events.createBus("test", new EventBusOptions().serialized());
+        assertThrows(IllegalArgumentException.class, () -> {
+            serialized.builder(Event1.class, (e) -> {
+            }).async().queueCapacity(10).subscribe();
+        });
+        serialized.builder(Event1.class, (e) -> {
+        }).async().queueCapacity(10, OverflowPolicy.DROP_OLDEST).subscribe();
+    }
+
+    @Test
+    void testSubscribeAsync_closedBus() throws Exception {
+        EventBus bus = Events.createBus("test");
+        AtomicReference<Exception> error = new AtomicReference<>();
+        AtomicInteger received = new AtomicInteger();
+        bus.builder(Event1.class, (e) -> received.incrementAndGet()).async().onError(error::set).subscribe();
+        bus.subscribe(Event1.class, (e) -> received.incrementAndGet());
+
+        bus.close();
+        bus.publish(new Event1());
+        assertEquals(1, received.get(), "Synchronous listener must be executed");
+        assertTrue(error.get() instanceof RejectedExecutionException, "Async execution must be rejected");
+    }
+
     @SuppressWarnings("UnusedAssignment")
     @Test
     void testSubscribeWeak() {
@@ -231,6 +797,109 @@ class EventsTest {
         assertTrue(TestListener.listen2received.isEmpty(), "Must be empty after subscription cancellation");
     }
 
+    @Test
+    void testSubscribeObject_builder() {
+        EventBus bus = Events.createBus("test");
+        TestListener testListener = new TestListener();
+        AtomicReference<Exception> error = new AtomicReference<>();
+
+        ListenerHandle handle = bus.builder(testListener).onError(error::set).subscribe();
+        assertTrue(handle.isActive());
+
+        final Event1 event1 = new Event1();
+        bus.publish(event1);
+        assertEquals(Collections.singletonList(event1), testListener.listen1received);
+        assertEquals(Collections.singletonList(event1), testListener.listenBothReceived);
+        assertNull(error.get());
+
+        TestListener.listen2received.clear();
+        handle.cancel();
+        assertFalse(handle.isActive());
+    }
+
+    @Test
+    void testSubscribeObject_repeatedly() {
+        EventBus bus = Events.createBus("test");
+        TestListener first = new TestListener();
+        TestListener second = new TestListener();
+        ListenerHandle firstHandle = bus.subscribeMethods(first);
+        ListenerHandle secondHandle = bus.subscribeMethods(second);
+
+        bus.publish(new Event1());
+        assertEquals(1, first.listen1received.size());
+        assertEquals(1, second.listen1received.size(), "Cached listener methods must be bound to each object");
+        assertEquals(2, TestListener.listen2received.size());
+
+        TestListener.listen2received.clear();
+        firstHandle.cancel();
+        secondHandle.cancel();
+    }
+
+    @Test
+    void testSubscribeObject_generatedIndex() {
+        // test sources are compiled with ListenEventProcessor
+        assertNotNull(ListenerMethods.loadIndex(TestListener.class), "Index must be generated for listener class");
+        assertNull(ListenerMethods.loadIndex(PrivateListener.class), "Private class must not be indexed");
+        assertEquals(4, ListenerMethods.of(TestListener.class).size());
+    }
+
+    @Test
+    void testSubscribeObject_reflectionFallback() {
+        EventBus bus = Events.createBus("test");
+        PrivateListener listener = new PrivateListener();
+        bus.subscribeMethods(listener);
+        Event1 event1 = new Event1();
+        bus.publish(event1);
+        assertEquals(Collections.singletonList(event1), listener.received);
+    }
+
+    @Test
+    void testSubscribeObject_listenerException() {
+        EventBus bus = Events.createBus("test");
+        bus.subscribeMethods(new ThrowingListener());
+        // exception must reach error handling as is, not wrapped by reflection
+        assertThrows(IllegalStateException.class, () -> bus.publish(new Event1()));
+    }
+
+    @Test
+    void testSubscribeObject_checkedListenerException() {
+        // generated index must compile for methods, declaring checked exceptions
+        assertNotNull(ListenerMethods.loadIndex(CheckedThrowingListener.class), "Index must be generated for listener class");
+        EventBus bus = Events.createBus("test");
+        final List<Exception> errors = new ArrayList<>();
+        bus.builder(new CheckedThrowingListener()).onError(IOException.class, errors::add).subscribe();
+        bus.publish(new Event1());
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0) instanceof IOException, "Checked exception must reach error handling as is");
+    }
+
+    @Test
+    void testSubscribeObject_checkedListenerExceptionReflective() {
+        // private class isn't indexed and is bound through method handle
+        assertNull(ListenerMethods.loadIndex(PrivateCheckedThrowingListener.class));
+        EventBus bus = Events.createBus("test");
+        final List<Exception> errors = new ArrayList<>();
+        bus.builder(new PrivateCheckedThrowingListener()).onError(IOException.class, errors::add).subscribe();
+        bus.publish(new Event1());
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0) instanceof IOException, "Checked exception must reach error handling as is");
+    }
+
+    @Test
+    void testSubscribeObject_typeVariableParameters() {
+        // index must be generated for type variable parameters, receiving the same events as through reflection
+        assertNotNull(ListenerMethods.loadIndex(GenericListener.class), "Index must be generated for listener class");
+        EventBus bus = Events.createBus("test");
+        GenericListener listener = new GenericListener();
+        bus.subscribeMethods(listener);
+        Event1 event1 = new Event1();
+        Event2 event2 = new Event2();
+        bus.publish(event1);
+        bus.publish(event2);
+        assertEquals(Arrays.asList(event1, event2), listener.received, "Inherited method is registered for erased type");
+        assertEquals(Collections.singletonList(event2), listener.receivedGeneric);
+    }
+
     @Test
     void testSubscribe() {
         final List<Object> received = new LinkedList<>();
@@ -394,6 +1063,137 @@ class EventsTest {
         });
     }
 
+    @Test
+    void testSubscribeEdt_coalesced() throws Exception {
+        EventBus bus = Events.createBus("test", new EventBusOptions().coalesceEdt());
+        final int EVENTS = 1_000;
+        CountDownLatch latch = new CountDownLatch(2 * EVENTS);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        Set<AWTEvent> edtEvents = Collections.newSetFromMap(new IdentityHashMap<>());
+        bus.builder(IndexedEvent.class, (e) -> {
+            edtEvents.add(EventQueue.getCurrentEvent());
+            received.add(e.index);
+            latch.countDown();
+        }).asyncEdt().subscribe();
+        bus.builder(IndexedEvent.class, (e) -> {
+            assertTrue(SwingUtilities.isEventDispatchThread(), "EDT");
+            edtEvents.add(EventQueue.getCurrentEvent());
+            latch.countDown();
+        }).edt().subscribe();
+
+        // EDT is busy while events are published
+        CountDownLatch published = new CountDownLatch(1);
+        SwingUtilities.invokeLater(() -> {
+            try {
+                published.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        for (int i = 0; i < EVENTS; i++) {
+            bus.publish(new IndexedEvent(i));
+        }
+        published.countDown();
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "All events must be delivered");
+        assertEquals(1, edtEvents.size(), "Pending executions must be coalesced into single EDT event");
+        for (int i = 0; i < EVENTS; i++) {
+            assertEquals(i, (int) received.get(i), "Events must be delivered in publishing order");
+        }
+        bus.close();
+    }
+
+    @Test
+    void testSubscribeEdt_frameRate() throws Exception {
+        EventBus bus = Events.createBus("test", new EventBusOptions().edtFrameRate(10));
+        List<Long> deliveredAt = Collections.synchronizedList(new ArrayList<>());
+        bus.builder(Event1.class, (e) -> deliveredAt.add(System.nanoTime())).asyncEdt().subscribe();
+
+        for (int i = 0; i < 3; i++) {
+            bus.publish(new Event1());
+            int expected = i + 1;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (deliveredAt.size() < expected && System.nanoTime() < deadline) {
+                pause(1);
+            }
+        }
+        assertEquals(3, deliveredAt.size());
+        for (int i = 1; i < 3; i++) {
+            long interval = deliveredAt.get(i) - deliveredAt.get(i - 1);
+            assertTrue(interval >= TimeUnit.MILLISECONDS.toNanos(90), "Drains must be limited by frame rate: " + interval);
+        }
+        bus.close();
+    }
+
+    @Test
+    void testSubscribeEdt_conflate() throws Exception {
+        EventBus bus = Events.createBus("test");
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        bus.builder(IndexedEvent.class, (e) -> received.add(e.index)).asyncEdt().conflate().subscribe();
+
+        CountDownLatch published = new CountDownLatch(1);
+        SwingUtilities.invokeLater(() -> {
+            try {
+                published.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        for (int i = 0; i < 100; i++) {
+            bus.publish(new IndexedEvent(i));
+        }
+        published.countDown();
+        SwingUtilities.invokeAndWait(() -> {
+        });
+
+        assertEquals(Collections.singletonList(99), received, "Only the latest event must be delivered");
+        bus.close();
+    }
+
+    @Test
+    void testSubscribeConflateBy() throws Exception {
+        EventBus bus = Events.createBus("test");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        bus.builder(IndexedEvent.class, (e) -> {
+            if (e.index < 0) {
+                started.countDown();
+                try {
+                    assertTrue(release.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException ex) {
+                    throw new RuntimeException(ex);
+                }
+            } else {
+                received.add(e.index);
+            }
+        }).async().conflateBy(e -> e.index % 3).subscribe();
+
+        // listener is busy while events are published
+        bus.publish(new IndexedEvent(-1));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            bus.publish(new IndexedEvent(i));
+        }
+        release.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (received.size() < 3 && System.nanoTime() < deadline) {
+            pause(10);
+        }
+        pause(50);
+        assertEquals(Arrays.asList(99, 97, 98), received, "Only the latest event per key must be delivered, in order of key's first pending event");
+        bus.close();
+    }
+
+    @Test
+    void testBadBuilderConditions_conflateSynchronous() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            Events.builder(Event1.class, (e) -> {
+            }).conflate().subscribe();
+        });
+    }
+
     @Test
     void localBuses() {
         List<Event> events = new ArrayList<>();
@@ -421,6 +1221,129 @@ class EventsTest {
         assertEquals(event2, events.get(1));
     }
 
+    @Test
+    void dispatchTableUpdatedOnSubscriptionChanges() {
+        EventBus bus = Events.createBus("test");
+        List<Object> received = new ArrayList<>();
+
+        // resolving dispatch for Event1 before any supertype subscription exists
+        ListenerHandle concrete = bus.subscribe(Event1.class, received::add);
+        bus.publish(new Event1());
+        assertEquals(1, received.size());
+
+        ListenerHandle generic = bus.subscribe(Event.class, received::add);
+        bus.publish(new Event1());
+        assertEquals(3, received.size(), "Supertype subscription must be added to resolved dispatch");
+
+        concrete.cancel();
+        bus.publish(new Event1());
+        assertEquals(4, received.size(), "Cancelled subscription must be removed from resolved dispatch");
+
+        generic.cancel();
+        bus.publish(new Event1());
+        assertEquals(4, received.size());
+    }
+
+    @Test
+    void subscriptionChangesDuringPublish() {
+        EventBus bus = Events.createBus("test");
+        List<Object> received = new ArrayList<>();
+        AtomicReference<ListenerHandle> secondHandle = new AtomicReference<>();
+
+        // first listener cancels the second one and subscribes a third one while event is being dispatched
+        bus.subscribe(Event1.class, e -> {
+            received.add("first");
+            if (secondHandle.get().isActive()) {
+                secondHandle.get().cancel();
+                bus.subscribe(Event1.class, e1 -> received.add("third"));
+            }
+        });
+        secondHandle.set(bus.subscribe(Event1.class, e -> received.add("second")));
+
+        bus.publish(new Event1());
+        assertEquals(Arrays.asList("first", "second"), received, "Dispatch must use snapshot taken before publishing");
+
+        received.clear();
+        bus.publish(new Event1());
+        assertEquals(Arrays.asList("first", "third"), received);
+    }
+
+    @Test
+    void concurrentPublishing() throws Exception {
+        EventBus bus = Events.createBus("test");
+        // both publishers must be inside of listener at the same time to release the barrier
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        AtomicInteger received = new AtomicInteger();
+        bus.subscribe(Event1.class, e -> {
+            try {
+                barrier.await(10, TimeUnit.SECONDS);
+                received.incrementAndGet();
+            } catch (Exception ex) {
+                throw new RuntimeException(ex);
+            }
+        });
+
+        Thread other = new Thread(() -> bus.publish(new Event1()));
+        other.start();
+        bus.publish(new Event1());
+        other.join();
+        assertEquals(2, received.get());
+    }
+
+    @Test
+    void serializedPublishing() throws Exception {
+        EventBus bus = Events.createBus("test", new EventBusOptions().serialized());
+        AtomicInteger inListener = new AtomicInteger();
+        AtomicInteger maxInListener = new AtomicInteger();
+        bus.subscribe(Event1.class, e -> {
+            maxInListener.accumulateAndGet(inListener.incrementAndGet(), Math::max);
+            pause(10);
+            inListener.decrementAndGet();
+        });
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> bus.publish(new Event1()));
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1, maxInListener.get(), "Listeners must not be executed concurrently");
+    }
+
+    @Test
+    void publishDoesNotAllocate() {
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean, "Thread allocation counters are not supported");
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        assumeTrue(allocationBean.isThreadAllocatedMemorySupported(), "Thread allocation counters are not supported");
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+        EventBus bus = Events.createBus("test");
+        int[] received = new int[1];
+        bus.subscribe(Event1.class, e -> received[0]++);
+        bus.subscribe(Event.class, e -> received[0]++, e -> !(e instanceof Event2));
+        Event1 event = new Event1();
+        for (int i = 0; i < 10_000; i++) {
+            bus.publish(event);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        // measuring counter reading overhead to subtract it
+        long calibrationStart = allocationBean.getThreadAllocatedBytes(threadId);
+        long calibrationEnd = allocationBean.getThreadAllocatedBytes(threadId);
+        long start = allocationBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 1_000; i++) {
+            bus.publish(event);
+        }
+        long end = allocationBean.getThreadAllocatedBytes(threadId);
+
+        assertEquals(2 * 11_000, received[0]);
+        assertEquals(0, (end - start) - (calibrationEnd - calibrationStart), "Publishing must not allocate");
+    }
+
     @Test
     void listenerException() {
         assertThrows(RuntimeException.class, () -> {
@@ -477,6 +1400,450 @@ class EventsTest {
         assertEquals(runtime, throwableRef.get());
     }
 
+    @Test
+    void testSubscribePriority() {
+        EventBus bus = Events.createBus("test");
+        List<String> received = new ArrayList<>();
+        bus.subscribe(Event1.class, e -> received.add("default"));
+        bus.builder(Event1.class, e -> received.add("low")).priority(-1).subscribe();
+        bus.builder(Event1.class, e -> received.add("high")).priority(10).subscribe();
+        bus.builder(Event1.class, e -> received.add("default2")).priority(0).subscribe();
+        // supertype listeners are merged by priority too
+        bus.builder(Event.class, e -> received.add("medium")).priority(5).subscribe();
+        bus.publish(new Event1());
+        assertEquals(Arrays.asList("high", "medium", "default", "default2", "low"), received);
+
+        received.clear();
+        bus.publishAll(Collections.singletonList(new Event1()));
+        assertEquals(Arrays.asList("high", "medium", "default", "default2", "low"), received);
+    }
+
+    @Test
+    void testSubscribePriority_annotated() {
+        EventBus bus = Events.createBus("test");
+        PriorityListener listener = new PriorityListener();
+        bus.subscribeMethods(listener);
+        bus.publish(new Event1());
+        assertEquals(Arrays.asList("first", "second"), listener.received);
+
+        // builder priority overrides annotated one
+        List<String> received = new ArrayList<>();
+        bus.builder(Event1.class, e -> received.add("builder")).priority(100).subscribe();
+        listener.received.clear();
+        bus.builder(new PriorityListener()).priority(200).subscribe();
+        bus.publish(new Event1());
+        assertEquals(Collections.singletonList("builder"), received);
+        assertEquals(Arrays.asList("first", "second"), listener.received);
+    }
+
+    @Test
+    void testConsumableEvent() {
+        EventBus bus = Events.createBus("test");
+        List<String> received = new ArrayList<>();
+        bus.builder(ConsumableEvent1.class, e -> received.add("low")).priority(-1).subscribe();
+        bus.builder(ConsumableEvent1.class, e -> {
+            received.add("cache");
+            if (e.cached) {
+                e.consume();
+            }
+        }).priority(1).subscribe();
+
+        ConsumableEvent1 notCached = new ConsumableEvent1(false);
+        bus.publish(notCached);
+        assertEquals(Arrays.asList("cache", "low"), received);
+        assertFalse(notCached.isConsumed());
+
+        received.clear();
+        ConsumableEvent1 cached = new ConsumableEvent1(true);
+        bus.publish(cached);
+        assertEquals(Collections.singletonList("cache"), received);
+        assertTrue(cached.isConsumed());
+
+        received.clear();
+        bus.publishAll(Arrays.asList(new ConsumableEvent1(true), new ConsumableEvent1(false)));
+        assertEquals(Arrays.asList("cache", "cache", "low"), received);
+    }
+
+    @Test
+    void testSubscribeKey() {
+        EventBus bus = Events.createBus("test");
+        bus.registerKeyExtractor(IndexedEvent.class, e -> e.index);
+        List<List<Integer>> received = new ArrayList<>();
+        List<ListenerHandle> handles = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            List<Integer> keyReceived = new ArrayList<>();
+            received.add(keyReceived);
+            handles.add(bus.builder(IndexedEvent.class, (IndexedEvent e) -> keyReceived.add(e.index)).key(i).subscribe());
+        }
+        List<String> order = new ArrayList<>();
+        bus.builder(IndexedEvent.class, e -> order.add("unkeyed")).subscribe();
+        bus.builder(IndexedEvent.class, e -> order.add("keyed")).key(7).priority(1).subscribe();
+
+        bus.publish(new IndexedEvent(7));
+        bus.publishAll(Arrays.asList(new IndexedEvent(7), new IndexedEvent(8), new IndexedEvent(5000)));
+        assertEquals(Arrays.asList(7, 7), received.get(7));
+        assertEquals(Collections.singletonList(8), received.get(8));
+        assertTrue(received.get(9).isEmpty());
+        assertEquals(Arrays.asList("keyed", "unkeyed", "keyed", "unkeyed", "unkeyed", "unkeyed"), order);
+
+        assertTrue(handles.get(7).isActive());
+        handles.get(7).cancel();
+        assertFalse(handles.get(7).isActive());
+        bus.publish(new IndexedEvent(7));
+        assertEquals(Arrays.asList(7, 7), received.get(7));
+    }
+
+    @Test
+    void testSubscribeKey_supertypeExtractor() {
+        EventBus bus = Events.createBus("test");
+        bus.registerKeyExtractor(Event.class, e -> e.getClass().getSimpleName());
+        List<Event> received = new ArrayList<>();
+        bus.builder(Event.class, received::add).key("Event2").subscribe();
+        bus.publish(new Event1(), new Event2());
+        assertEquals(1, received.size());
+        assertTrue(received.get(0) instanceof Event2);
+    }
+
+    @Test
+    void testSubscribeKey_bad() {
+        EventBus bus = Events.createBus("test");
+        assertThrows(IllegalArgumentException.class, () -> bus.builder(Event1.class, e -> {}).key(1).subscribe());
+        bus.registerKeyExtractor(Event1.class, e -> e.flag);
+        assertThrows(IllegalArgumentException.class, () -> bus.registerKeyExtractor(Event1.class, e -> e.flag));
+        assertThrows(NullPointerException.class, () -> bus.builder(Event1.class, e -> {}).key(null));
+    }
+
+    @Test
+    void testStats() {
+        EventBus bus = Events.createBus("test", new EventBusOptions().stats(1));
+        bus.builder(Event1.class, e -> pause(1)).name("slow").subscribe();
+        ListenerHandle conditional = bus.builder(Event1.class, e -> {}).condition(e -> e.flag).name("conditional").subscribe();
+        bus.builder(Event2.class, e -> {
+            throw new IllegalStateException();
+        }).onError(e -> {}).name("failing").subscribe();
+
+        Event1 flagged = new Event1();
+        flagged.flag = true;
+        bus.publish(new Event1(), new Event1(), flagged);
+        bus.publishAll(Arrays.asList(new Event2(), new Event2()));
+
+        EventBusStats stats = bus.stats();
+        EventBusStats.EventStats event1Stats = stats.getEvents().get(Event1.class);
+        assertEquals(3, event1Stats.getPublishCount());
+        assertEquals(4, event1Stats.getDeliveryCount());
+        assertEquals(4.0 / 3, event1Stats.getAverageFanOut(), 1e-9);
+        assertTrue(event1Stats.getPublishRate() > 0);
+        assertEquals(2, stats.getEvents().get(Event2.class).getPublishCount());
+
+        Map<String, EventBusStats.ListenerStats> listeners = new HashMap<>();
+        stats.getListeners().forEach(l -> listeners.put(l.getName(), l));
+        EventBusStats.ListenerStats slow = listeners.get("slow");
+        assertEquals(3, slow.getExecutionCount());
+        assertTrue(slow.getPercentileNanos(50) >= TimeUnit.MILLISECONDS.toNanos(1) * 7 / 8);
+        assertTrue(slow.getPercentileNanos(100) <= slow.getMaxNanos());
+        assertTrue(slow.getMeanNanos() <= slow.getMaxNanos());
+        assertEquals(1, listeners.get("conditional").getExecutionCount());
+        assertEquals(2, listeners.get("failing").getErrorCount());
+        assertEquals(Event2.class, listeners.get("failing").getEventClass());
+
+        conditional.cancel();
+        assertEquals(2, bus.stats().getListeners().size());
+
+        assertThrows(IllegalStateException.class, () -> Events.createBus("test").stats());
+        assertThrows(IllegalArgumentException.class, () -> new EventBusOptions().stats(3));
+    }
+
+    @Test
+    void testStats_sampled() {
+        EventBus bus = Events.createBus("test", new EventBusOptions().stats(16));
+        bus.subscribe(Event1.class, e -> {});
+        for (int i = 0; i < 10_000; i++) {
+            bus.publish(new Event1());
+        }
+        EventBusStats.ListenerStats stats = bus.stats().getListeners().get(0);
+        assertEquals(10_000, stats.getExecutionCount());
+        assertTrue(stats.getSampleCount() > 300 && stats.getSampleCount() < 1000, "Samples: " + stats.getSampleCount());
+    }
+
+    @Test
+    void testLatencyHistogramBuckets() {
+        Random random = new Random(1);
+        for (int i = 0; i < 10_000; i++) {
+            long value = random.nextLong() >>> (1 + random.nextInt(63));
+            long highest = LatencyHistogram.highestValue(LatencyHistogram.bucket(value));
+            assertTrue(highest >= value && highest - value <= value / 8, "Value " + value + ", bucket bound " + highest);
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucket(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValue(LatencyHistogram.BUCKETS - 1));
+    }
+
+    @Test
+    void testSlowListenerThreshold() throws InterruptedException {
+        List<SlowListenerReport> reports = Collections.synchronizedList(new ArrayList<>());
+        EventBus bus = Events.createBus("test", new EventBusOptions()
+                .slowListenerThreshold(Duration.ofMillis(40))
+                .slowListenerHandler(reports::add));
+        bus.builder(Event1.class, e -> pause(300)).name("slow").subscribe();
+        bus.builder(Event2.class, e -> {}).name("fast").subscribe();
+
+        Event1 event = new Event1();
+        bus.publish(event);
+        bus.publish(new Event2());
+        Thread.sleep(100);
+
+        assertEquals(1, reports.size());
+        SlowListenerReport report = reports.get(0);
+        assertEquals("slow", report.getName());
+        assertSame(event, report.getEvent());
+        assertSame(Thread.currentThread(), report.getThread());
+        assertFalse(report.isTimeout());
+        assertFalse(report.isInterrupted());
+        assertEquals(Duration.ofMillis(40), report.getLimit());
+        assertTrue(report.getElapsed().compareTo(report.getLimit()) >= 0);
+        assertTrue(Arrays.stream(report.getStackTrace()).anyMatch(frame -> frame.getMethodName().equals("pause")));
+        bus.close();
+    }
+
+    @Test
+    void testSubscribeTimeout_interrupt() throws InterruptedException {
+        BlockingQueue<SlowListenerReport> reports = new LinkedBlockingQueue<>();
+        EventBus bus = Events.createBus("test", new EventBusOptions().asyncThreads(1).slowListenerHandler(reports::add));
+        BlockingQueue<Boolean> interrupted = new LinkedBlockingQueue<>();
+        bus.builder(IndexedEvent.class, (IndexedEvent e) -> {
+            if (e.index == 0) {
+                try {
+                    Thread.sleep(10_000);
+                    interrupted.add(false);
+                } catch (InterruptedException ex) {
+                    interrupted.add(true);
+                }
+            } else {
+                // interruption must not leak to next execution on the same pool thread
+                interrupted.add(Thread.currentThread().isInterrupted());
+            }
+        }).async().timeout(Duration.ofMillis(50), true).subscribe();
+
+        bus.publish(new IndexedEvent(0), new IndexedEvent(1));
+        assertEquals(Boolean.TRUE, interrupted.poll(5, TimeUnit.SECONDS));
+        assertEquals(Boolean.FALSE, interrupted.poll(5, TimeUnit.SECONDS));
+        SlowListenerReport report = reports.poll(5, TimeUnit.SECONDS);
+        assertNotNull(report);
+        assertTrue(report.isTimeout());
+        assertTrue(report.isInterrupted());
+        bus.close();
+    }
+
+    @Test
+    void testSubscribeTimeout_interruptedBySomeoneElse() throws InterruptedException {
+        BlockingQueue<SlowListenerReport> reports = new LinkedBlockingQueue<>();
+        EventBus bus = Events.createBus("test", new EventBusOptions().asyncThreads(1).slowListenerHandler(reports::add));
+        BlockingQueue<Boolean> interrupted = new LinkedBlockingQueue<>();
+        bus.builder(IndexedEvent.class, (IndexedEvent e) -> {
+            if (e.index == 0) {
+                Thread.currentThread().interrupt();
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (reports.isEmpty() && System.nanoTime() < deadline) {
+                    Thread.yield();
+                }
+            } else {
+                interrupted.add(Thread.currentThread().isInterrupted());
+            }
+        }).async().timeout(Duration.ofMillis(50), true).subscribe();
+
+        bus.publish(new IndexedEvent(0), new IndexedEvent(1));
+        assertEquals(Boolean.TRUE, interrupted.poll(5, TimeUnit.SECONDS), "Interrupt, not sent by watchdog, must not be cleared");
+        assertNotNull(reports.poll(5, TimeUnit.SECONDS));
+        bus.close();
+    }
+
+    @Test
+    void testSubscribeTimeout_bad() {
+        EventBus bus = Events.createBus("test");
+        assertThrows(IllegalArgumentException.class, () -> bus.builder(Event1.class, e -> {}).timeout(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, 
+                () -> bus.builder(Event1.class, e -> {}).timeout(Duration.ofSeconds(1), true).subscribe());
+        assertThrows(IllegalArgumentException.class, 
+                () -> new EventBusOptions().slowListenerThreshold(Duration.ofMillis(-1)));
+    }
+
+    @Test
+    void testLeakDetection() {
+        EventBus bus = Events.createBus("test", new EventBusOptions().leakDetection(500, Duration.ofHours(1)));
+        bus.subscribe(Event2.class, e -> {});
+        List<ListenerHandle> handles = new ArrayList<>();
+        for (int check = 0; check <= LeakDetector.GROWTH_CHECKS; check++) {
+            for (int i = 0; i < 200; i++) {
+                handles.add(leakySubscribe(bus));
+            }
+            ((EventBusImpl) bus).checkLeaks();
+            if (check < LeakDetector.GROWTH_CHECKS) {
+                assertTrue(bus.leakReport().getSuspects().isEmpty(), "Growth must be checked over several checks");
+            }
+        }
+        List<LeakReport.Suspect> suspects = bus.leakReport().getSuspects();
+        assertEquals(1, suspects.size());
+        LeakReport.Suspect suspect = suspects.get(0);
+        assertEquals(Event1.class, suspect.getEventClass());
+        assertEquals(1200, suspect.getSubscriptionCount());
+        assertEquals(1000, suspect.getGrowth());
+        LeakReport.Site site = suspect.getSites().get(0);
+        assertEquals("leakySubscribe", site.getStackTrace()[0].getMethodName());
+        assertTrue(site.getEstimatedSubscriptions() > 0);
+
+        handles.forEach(ListenerHandle::cancel);
+        ((EventBusImpl) bus).checkLeaks();
+        assertTrue(bus.leakReport().getSuspects().isEmpty());
+
+        EventBus disabled = Events.createBus("test");
+        leakySubscribe(disabled);
+        ((EventBusImpl) disabled).checkLeaks();
+        assertTrue(disabled.leakReport().getSuspects().isEmpty(), "Leak detection must be disabled by default");
+    }
+
+    @Test
+    void testLeakDetection_sitesReleased() {
+        LeakDetector detector = new LeakDetector("test", 1, TimeUnit.HOURS.toNanos(1));
+        List<LeakDetector.Site> sampled = new ArrayList<>();
+        while (sampled.size() < 2) {
+            LeakDetector.Site site = detector.sample(Event1.class);
+            if (site != null) {
+                sampled.add(site);
+            }
+        }
+        assertEquals(1, detector.siteCount());
+        sampled.get(0).release();
+        assertEquals(1, detector.siteCount(), "Site must be kept while it has active subscriptions");
+        sampled.get(1).release();
+        assertEquals(0, detector.siteCount(), "Site without active subscriptions must be forgotten");
+    }
+
+    @Test
+    void testRequest() throws Exception {
+        EventBus bus = Events.createBus("test");
+        List<String> received = new ArrayList<>();
+        bus.builder(PriceRequest.class, e -> received.add("low")).priority(-1).subscribe();
+        ListenerHandle cache = bus.builder(PriceRequest.class, (PriceRequest e) -> {
+            received.add("cache");
+            if (e.item.equals("cached")) {
+                e.respond(1);
+            }
+        }).priority(1).subscribe();
+        bus.subscribeResponder(PriceRequest.class, e -> {
+            received.add("responder");
+            return e.item.length();
+        });
+
+        assertEquals(Integer.valueOf(1), bus.request(new PriceRequest("cached"), Duration.ofSeconds(5)).get(1, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList("cache"), received, "Request must not be dispatched after response");
+
+        received.clear();
+        PriceRequest request = new PriceRequest("item");
+        assertEquals(Integer.valueOf(4), bus.request(request, Duration.ofSeconds(5)).get(1, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("cache", "responder"), received);
+        assertTrue(request.isAnswered());
+        assertFalse(request.respond(5), "Request is already answered");
+        assertThrows(IllegalArgumentException.class, () -> bus.request(request, Duration.ofSeconds(5)), "Request may be sent once");
+
+        cache.cancel();
+        bus.subscribeResponder(PriceRequest.class, e -> e.item.length() * 2);
+        assertEquals(Arrays.asList(3, 6), bus.requestAll(new PriceRequest("abc"), Duration.ofSeconds(5)).get(1, TimeUnit.SECONDS));
+
+        EventBus empty = Events.createBus("test");
+        ExecutionException noResponse = assertThrows(
+                ExecutionException.class, 
+                () -> empty.request(new PriceRequest("item"), Duration.ofSeconds(5)).get(1, TimeUnit.SECONDS)
+        );
+        assertTrue(noResponse.getCause() instanceof NoSuchElementException);
+        assertEquals(Collections.emptyList(), empty.requestAll(new PriceRequest("item"), Duration.ofSeconds(5)).get(1, TimeUnit.SECONDS));
+        empty.subscribeResponder(PriceRequest.class, e -> null);
+        assertThrows(ExecutionException.class, () -> empty.request(new PriceRequest("item"), Duration.ofSeconds(5)).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testRequest_async() throws Exception {
+        EventBus bus = Events.createBus("test", new EventBusOptions().asyncThreads(3));
+        CountDownLatch release = new CountDownLatch(1);
+        bus.builder(PriceRequest.class, (PriceRequest e) -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                throw new RuntimeException(ex);
+            }
+            e.respond(1);
+        }).async().subscribe();
+        bus.builder(PriceRequest.class, (PriceRequest e) -> e.respond(2)).async().subscribe();
+        bus.builder(PriceRequest.class, e -> {}).async().subscribe();
+
+        CompletableFuture<List<Integer>> all = bus.requestAll(new PriceRequest("item"), Duration.ofSeconds(5));
+        assertEquals(Integer.valueOf(2), bus.request(new PriceRequest("item"), Duration.ofSeconds(5)).get(1, TimeUnit.SECONDS));
+        assertFalse(all.isDone(), "All listeners must return");
+        release.countDown();
+        assertEquals(new HashSet<>(Arrays.asList(1, 2)), new HashSet<>(all.get(1, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    void testRequest_timeout() throws Exception {
+        EventBus bus = Events.createBus("test", new EventBusOptions().asyncThreads(2));
+        CountDownLatch release = new CountDownLatch(1);
+        bus.builder(PriceRequest.class, (PriceRequest e) -> e.respond(1)).subscribe();
+        bus.builder(PriceRequest.class, (PriceRequest e) -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                throw new RuntimeException(ex);
+            }
+            e.respond(2);
+        }).async().subscribe();
+
+        assertEquals(Collections.singletonList(1), bus.requestAll(new PriceRequest("item"), Duration.ofMillis(50)).get(1, TimeUnit.SECONDS));
+        release.countDown();
+
+        EventBus silent = Events.createBus("test");
+        silent.builder(PriceRequest.class, e -> {}).executor(task -> {}).subscribe();
+        ExecutionException timeout = assertThrows(
+                ExecutionException.class,
+                () -> silent.request(new PriceRequest("item"), Duration.ofMillis(50)).get(1, TimeUnit.SECONDS)
+        );
+        assertTrue(timeout.getCause() instanceof TimeoutException);
+        assertThrows(IllegalArgumentException.class, () -> silent.request(new PriceRequest("item"), Duration.ofMillis(-1)));
+    }
+
+    @Test
+    void testRequest_publishedAfterSending() throws Exception {
+        EventBus bus = Events.createBus("test", new EventBusOptions().asyncThreads(2));
+        CountDownLatch release = new CountDownLatch(1);
+        bus.builder(PriceRequest.class, e -> {}).subscribe();
+        bus.builder(PriceRequest.class, (PriceRequest e) -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                throw new RuntimeException(ex);
+            }
+            e.respond(1);
+        }).async().subscribe();
+
+        PriceRequest request = new PriceRequest("item");
+        CompletableFuture<List<Integer>> all = bus.requestAll(request, Duration.ofSeconds(5));
+        bus.publish(request);
+        assertFalse(all.isDone(), "Publishing sent request must not count as return of its listeners");
+        release.countDown();
+        assertEquals(Integer.valueOf(1), all.get(1, TimeUnit.SECONDS).get(0));
+    }
+
+    private static ListenerHandle leakySubscribe(EventBus bus) {
+        return bus.subscribe(Event1.class, e -> {});
+    }
+
+    private static void awaitAndAdd(CountDownLatch started, CountDownLatch release, List<Integer> received, IndexedEvent e) {
+        started.countDown();
+        try {
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            throw new RuntimeException(ex);
+        }
+        received.add(e.index);
+    }
+
     private void pause(long ms) {
         try {
             Thread.sleep(ms);
@@ -484,4 +1851,93 @@ class EventsTest {
             throw new RuntimeException(e);
         }
     }
-}
\ No newline at end of file
+
+    public static class ThrowingListener {
+        @ListenEvent
+        public void listen(Event1 event1) {
+            throw new IllegalStateException();
+        }
+    }
+
+    public static class CheckedThrowingListener {
+        @ListenEvent
+        public void listen(Event1 event1) throws IOException {
+            throw new IOException();
+        }
+    }
+
+    public static class GenericListenerBase<E extends Event> {
+        final List<E> received = new ArrayList<>();
+
+        @ListenEvent
+        public void listen(E event) {
+            received.add(event);
+        }
+    }
+
+    public static class GenericListener extends GenericListenerBase<Event1> {
+        final List<Event> receivedGeneric = new ArrayList<>();
+
+        @ListenEvent
+        public <E extends Event2> void listenGeneric(E event) {
+            receivedGeneric.add(event);
+        }
+    }
+
+    public static class PriorityListener {
+        final List<String> received = new ArrayList<>();
+
+        @ListenEvent(priority = -1)
+        public void second(Event1 event1) {
+            received.add("second");
+        }
+
+        @ListenEvent(priority = 1)
+        public void first(Event1 event1) {
+            received.add("first");
+        }
+    }
+
+    public static class ConsumableEvent1 implements ConsumableEvent {
+        final boolean cached;
+        private boolean consumed;
+
+        ConsumableEvent1(boolean cached) {
+            this.cached = cached;
+        }
+
+        @Override
+        public void consume() {
+            consumed = true;
+        }
+
+        @Override
+        public boolean isConsumed() {
+            return consumed;
+        }
+    }
+
+    public static class PriceRequest extends RequestEvent<Integer> {
+        final String item;
+
+        PriceRequest(String item) {
+            this.item = item;
+        }
+    }
+
+    private static class PrivateCheckedThrowingListener {
+        @ListenEvent
+        public void listen(Event1 event1) throws IOException {
+            throw new IOException();
+        }
+    }
+
+    private static class PrivateListener {
+        final List<Event> received = new ArrayList<>();
+
+        @ListenEvent
+        public void listen(Event1 event1) {
+            received.add(event1);
+        }
+    }
+}
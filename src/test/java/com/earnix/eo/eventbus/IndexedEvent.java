@@ -0,0 +1,11 @@
+package com.earnix.eo.eventbus;
+
+public class IndexedEvent implements Event
+{
+	final int index;
+
+	IndexedEvent(int index)
+	{
+		this.index = index;
+	}
+}